@@ -0,0 +1,58 @@
+package me.tomassetti.symbolsolver.benchmarks;
+
+import com.github.javaparser.ParseException;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import me.tomassetti.symbolsolver.javaparsermodel.contexts.CompilationUnitContext;
+import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solving, at the level of the compilation unit, all the type names used in the statements package of javaparser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CompilationUnitContextBenchmark {
+
+    private TypeSolver typeSolver;
+    private List<CompilationUnitContext> contexts;
+    private List<List<String>> names;
+
+    @Setup
+    public void setup() throws IOException, ParseException {
+        typeSolver = Corpus.typeSolver();
+        contexts = new ArrayList<>();
+        names = new ArrayList<>();
+        for (CompilationUnit cu : Corpus.parsePackage(Corpus.STATEMENTS_PACKAGE)) {
+            Set<String> namesInCu = new LinkedHashSet<>();
+            for (ClassOrInterfaceType type : Corpus.nodesOfType(cu, ClassOrInterfaceType.class)) {
+                if (type.getScope() == null) {
+                    namesInCu.add(type.getName());
+                }
+            }
+            contexts.add(new CompilationUnitContext(cu, typeSolver));
+            names.add(new ArrayList<>(namesInCu));
+        }
+    }
+
+    @Benchmark
+    public void solveType(Blackhole blackhole) {
+        for (int i = 0; i < contexts.size(); i++) {
+            for (String name : names.get(i)) {
+                blackhole.consume(contexts.get(i).solveType(name, typeSolver));
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package me.tomassetti.symbolsolver.benchmarks;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseException;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.stmt.Statement;
+import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
+import me.tomassetti.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import me.tomassetti.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
+import me.tomassetti.symbolsolver.resolution.typesolvers.JreTypeSolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Access to the code used by the benchmarks: the javaparser sources and the jars in the test resources
+ * of java-symbol-solver-core. Paths are relative to the directory of this module.
+ */
+class Corpus {
+
+    static final File TEST_RESOURCES = new File("../java-symbol-solver-core/src/test/resources");
+    static final File PROPER_SOURCE = new File(TEST_RESOURCES, "javaparser_src/proper_source");
+    static final File GENERATED = new File(TEST_RESOURCES, "javaparser_src/generated");
+    static final File JAVAPARSER_JAR = new File(TEST_RESOURCES, "javaparser-core-2.1.0.jar");
+
+    /**
+     * A package of the corpus which is entirely solved.
+     */
+    static final String STATEMENTS_PACKAGE = "com/github/javaparser/ast/stmt";
+
+    private Corpus() {
+    }
+
+    static TypeSolver typeSolver() {
+        CombinedTypeSolver combinedTypeSolver = new CombinedTypeSolver();
+        combinedTypeSolver.add(new JreTypeSolver());
+        combinedTypeSolver.add(new JavaParserTypeSolver(PROPER_SOURCE));
+        combinedTypeSolver.add(new JavaParserTypeSolver(GENERATED));
+        return combinedTypeSolver;
+    }
+
+    /**
+     * Parse all the source files in the given package, in the order of their names.
+     */
+    static List<CompilationUnit> parsePackage(String packagePath) throws IOException, ParseException {
+        File[] files = new File(PROPER_SOURCE, packagePath).listFiles((dir, name) -> name.endsWith(".java"));
+        Arrays.sort(files);
+        List<CompilationUnit> compilationUnits = new ArrayList<>();
+        for (File file : files) {
+            compilationUnits.add(JavaParser.parse(file));
+        }
+        return compilationUnits;
+    }
+
+    /**
+     * The expressions which SourceFileInfoExtractor types: the ones directly under statements and variables.
+     */
+    static List<Expression> typedExpressions(List<CompilationUnit> compilationUnits) {
+        List<Expression> expressions = new ArrayList<>();
+        for (CompilationUnit cu : compilationUnits) {
+            for (Expression expression : nodesOfType(cu, Expression.class)) {
+                if (expression.getParentNode() instanceof Statement || expression.getParentNode() instanceof VariableDeclarator) {
+                    expressions.add(expression);
+                }
+            }
+        }
+        return expressions;
+    }
+
+    static <N extends Node> List<N> nodesOfType(Node root, Class<N> type) {
+        List<N> nodes = new ArrayList<>();
+        collect(root, type, nodes);
+        return nodes;
+    }
+
+    private static <N extends Node> void collect(Node node, Class<N> type, List<N> nodes) {
+        if (type.isInstance(node)) {
+            nodes.add(type.cast(node));
+        }
+        for (Node child : node.getChildrenNodes()) {
+            collect(child, type, nodes);
+        }
+    }
+}
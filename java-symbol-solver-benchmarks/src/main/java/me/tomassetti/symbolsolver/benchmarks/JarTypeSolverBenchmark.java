@@ -0,0 +1,126 @@
+package me.tomassetti.symbolsolver.benchmarks;
+
+import me.tomassetti.symbolsolver.resolution.typesolvers.JarTypeSolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Opening a jar, with and without a stored index, and looking up its classes plus as many missing ones.
+ *
+ * {@link #lookup(Blackhole)} finds the declarations in the declaration cache of the solver: it measures cache hits.
+ * {@link #lookupUncached(UncachedSolver, Blackhole)} clears the cache before each invocation, so that each class is
+ * found through the index and a new declaration is built for it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JarTypeSolverBenchmark {
+
+    private File indexDir;
+    private JarTypeSolver jarTypeSolver;
+    private List<String> classNames;
+    private List<String> missingClassNames;
+
+    @Setup
+    public void setup() throws IOException {
+        indexDir = Files.createTempDirectory("jar-index").toFile();
+        jarTypeSolver = new JarTypeSolver(Corpus.JAVAPARSER_JAR.getPath(), indexDir);
+        classNames = new ArrayList<>();
+        missingClassNames = new ArrayList<>();
+        try (JarFile jarFile = new JarFile(Corpus.JAVAPARSER_JAR)) {
+            for (Enumeration<JarEntry> e = jarFile.entries(); e.hasMoreElements(); ) {
+                String entryName = e.nextElement().getName();
+                if (entryName.endsWith(".class")) {
+                    String className = entryName.substring(0, entryName.length() - ".class".length()).replace('/', '.').replace('$', '.');
+                    missingClassNames.add(className + "Missing");
+                    try {
+                        jarTypeSolver.tryToSolveType(className);
+                        classNames.add(className);
+                    } catch (UnsupportedOperationException ex) {
+                        // some kinds of classes, e.g. enums, are not supported
+                    }
+                }
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        jarTypeSolver.close();
+        for (File file : indexDir.listFiles()) {
+            file.delete();
+        }
+        indexDir.delete();
+    }
+
+    @Benchmark
+    public void construction(Blackhole blackhole) throws IOException {
+        JarTypeSolver typeSolver = new JarTypeSolver(Corpus.JAVAPARSER_JAR.getPath());
+        blackhole.consume(typeSolver);
+        typeSolver.close();
+    }
+
+    @Benchmark
+    public void constructionWithStoredIndex(Blackhole blackhole) throws IOException {
+        JarTypeSolver typeSolver = new JarTypeSolver(Corpus.JAVAPARSER_JAR.getPath(), indexDir);
+        blackhole.consume(typeSolver);
+        typeSolver.close();
+    }
+
+    @Benchmark
+    public void lookup(Blackhole blackhole) {
+        for (String className : classNames) {
+            blackhole.consume(jarTypeSolver.tryToSolveType(className));
+        }
+    }
+
+    /**
+     * A solver whose declaration cache is empty at each invocation.
+     */
+    @State(Scope.Thread)
+    public static class UncachedSolver {
+        private JarTypeSolver jarTypeSolver;
+
+        @Setup
+        public void setup(JarTypeSolverBenchmark benchmark) throws IOException {
+            jarTypeSolver = new JarTypeSolver(Corpus.JAVAPARSER_JAR.getPath(), benchmark.indexDir);
+        }
+
+        @Setup(Level.Invocation)
+        public void clearDeclarations() {
+            jarTypeSolver.getDeclarationCache().clear();
+        }
+
+        @TearDown
+        public void tearDown() {
+            jarTypeSolver.close();
+        }
+    }
+
+    @Benchmark
+    public void lookupUncached(UncachedSolver uncachedSolver, Blackhole blackhole) {
+        for (String className : classNames) {
+            blackhole.consume(uncachedSolver.jarTypeSolver.tryToSolveType(className));
+        }
+    }
+
+    @Benchmark
+    public void lookupMissing(Blackhole blackhole) {
+        for (String className : missingClassNames) {
+            blackhole.consume(jarTypeSolver.tryToSolveType(className));
+        }
+    }
+}
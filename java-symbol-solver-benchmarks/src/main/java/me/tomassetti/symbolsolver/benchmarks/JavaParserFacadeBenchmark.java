@@ -0,0 +1,81 @@
+package me.tomassetti.symbolsolver.benchmarks;
+
+import com.github.javaparser.ParseException;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFacade;
+import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typing the expressions and solving the method calls of the statements package of javaparser.
+ * The facade caches are emptied at every invocation, unless stated otherwise, while the type solvers stay warm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JavaParserFacadeBenchmark {
+
+    private TypeSolver typeSolver;
+    private List<Expression> expressions;
+    private List<MethodCallExpr> methodCalls;
+
+    @Setup
+    public void setup() throws IOException, ParseException {
+        typeSolver = Corpus.typeSolver();
+        List<CompilationUnit> compilationUnits = Corpus.parsePackage(Corpus.STATEMENTS_PACKAGE);
+        expressions = Corpus.typedExpressions(compilationUnits);
+        methodCalls = new ArrayList<>();
+        for (CompilationUnit cu : compilationUnits) {
+            methodCalls.addAll(Corpus.nodesOfType(cu, MethodCallExpr.class));
+        }
+        // warm up the type solvers
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(typeSolver);
+        for (Expression expression : expressions) {
+            javaParserFacade.getType(expression);
+        }
+        for (MethodCallExpr methodCall : methodCalls) {
+            javaParserFacade.solve(methodCall);
+        }
+    }
+
+    private JavaParserFacade emptyFacade() {
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(typeSolver);
+        javaParserFacade.setCacheSize(JavaParserFacade.DEFAULT_CACHE_SIZE);
+        return javaParserFacade;
+    }
+
+    @Benchmark
+    public void getType(Blackhole blackhole) {
+        JavaParserFacade javaParserFacade = emptyFacade();
+        for (Expression expression : expressions) {
+            blackhole.consume(javaParserFacade.getType(expression));
+        }
+    }
+
+    @Benchmark
+    public void getTypeCached(Blackhole blackhole) {
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(typeSolver);
+        for (Expression expression : expressions) {
+            blackhole.consume(javaParserFacade.getType(expression));
+        }
+    }
+
+    @Benchmark
+    public void solveMethodCall(Blackhole blackhole) {
+        JavaParserFacade javaParserFacade = emptyFacade();
+        for (MethodCallExpr methodCall : methodCalls) {
+            blackhole.consume(javaParserFacade.solve(methodCall));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package me.tomassetti.symbolsolver.benchmarks;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseException;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.stmt.ReturnStmt;
+import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFacade;
+import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
+import me.tomassetti.symbolsolver.resolution.typesolvers.JreTypeSolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typing many stream pipelines with lambdas in the same compilation unit, starting from empty facade caches.
+ * The time divided by the number of lambdas should not grow with the number of lambdas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LambdaBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int lambdas;
+
+    private TypeSolver typeSolver;
+    private List<ReturnStmt> statements;
+
+    @Setup
+    public void setup() throws ParseException {
+        StringBuilder source = new StringBuilder();
+        source.append("import java.util.List;\n\n");
+        source.append("public class Streams {\n\n");
+        source.append("    private List<String> names;\n\n");
+        for (int i = 0; i < lambdas; i++) {
+            source.append("    public void transform").append(i).append("() {\n");
+            source.append("        return names.stream().map(s -> s.toLowerCase());\n");
+            source.append("    }\n\n");
+        }
+        source.append("}\n");
+        CompilationUnit cu = JavaParser.parse(new ByteArrayInputStream(source.toString().getBytes(StandardCharsets.UTF_8)));
+        statements = Corpus.nodesOfType(cu, ReturnStmt.class);
+        typeSolver = new JreTypeSolver();
+    }
+
+    @Benchmark
+    public void getType(Blackhole blackhole) {
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(typeSolver);
+        javaParserFacade.setCacheSize(JavaParserFacade.DEFAULT_CACHE_SIZE);
+        for (ReturnStmt statement : statements) {
+            blackhole.consume(javaParserFacade.getType(statement.getExpr()));
+        }
+    }
+}
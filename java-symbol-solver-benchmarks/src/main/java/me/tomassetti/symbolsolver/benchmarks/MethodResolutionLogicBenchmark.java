@@ -0,0 +1,85 @@
+package me.tomassetti.symbolsolver.benchmarks;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseException;
+import com.github.javaparser.ast.CompilationUnit;
+import me.tomassetti.symbolsolver.javaparsermodel.declarations.JavaParserMethodDeclaration;
+import me.tomassetti.symbolsolver.model.declarations.MethodDeclaration;
+import me.tomassetti.symbolsolver.model.declarations.TypeDeclaration;
+import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
+import me.tomassetti.symbolsolver.model.typesystem.PrimitiveTypeUsage;
+import me.tomassetti.symbolsolver.model.typesystem.ReferenceTypeUsageImpl;
+import me.tomassetti.symbolsolver.model.typesystem.TypeUsage;
+import me.tomassetti.symbolsolver.reflectionmodel.ReflectionMethodDeclaration;
+import me.tomassetti.symbolsolver.resolution.MethodResolutionLogic;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checking the applicability of overloaded methods, declared both in source code and in the JRE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MethodResolutionLogicBenchmark {
+
+    private TypeSolver typeSolver;
+    private List<MethodDeclaration> stringMethods;
+    private List<MethodDeclaration> nodeMethods;
+    private List<TypeUsage> stringArguments;
+    private List<TypeUsage> nodeArguments;
+
+    @Setup
+    public void setup() throws IOException, ParseException {
+        typeSolver = Corpus.typeSolver();
+        TypeDeclaration string = typeSolver.solveType("java.lang.String");
+        stringMethods = new ArrayList<>();
+        for (Method method : String.class.getDeclaredMethods()) {
+            if (method.getName().equals("indexOf")) {
+                stringMethods.add(new ReflectionMethodDeclaration(method, typeSolver));
+            }
+        }
+        stringArguments = Arrays.asList(new ReferenceTypeUsageImpl(string, typeSolver), PrimitiveTypeUsage.INT);
+
+        CompilationUnit nodeSource = JavaParser.parse(new File(Corpus.PROPER_SOURCE, "com/github/javaparser/ast/Node.java"));
+        nodeMethods = new ArrayList<>();
+        for (com.github.javaparser.ast.body.MethodDeclaration method : Corpus.nodesOfType(nodeSource, com.github.javaparser.ast.body.MethodDeclaration.class)) {
+            if (method.getName().equals("setAsParentNodeOf")) {
+                nodeMethods.add(new JavaParserMethodDeclaration(method, typeSolver));
+            }
+        }
+        nodeArguments = Arrays.asList(new ReferenceTypeUsageImpl(typeSolver.solveType("com.github.javaparser.ast.expr.NameExpr"), typeSolver));
+    }
+
+    @Benchmark
+    public int isApplicableReflection() {
+        int applicable = 0;
+        for (MethodDeclaration method : stringMethods) {
+            if (MethodResolutionLogic.isApplicable(method, "indexOf", stringArguments, typeSolver)) {
+                applicable++;
+            }
+        }
+        return applicable;
+    }
+
+    @Benchmark
+    public int isApplicableJavaParser() {
+        int applicable = 0;
+        for (MethodDeclaration method : nodeMethods) {
+            if (MethodResolutionLogic.isApplicable(method, "setAsParentNodeOf", nodeArguments, typeSolver)) {
+                applicable++;
+            }
+        }
+        return applicable;
+    }
+}
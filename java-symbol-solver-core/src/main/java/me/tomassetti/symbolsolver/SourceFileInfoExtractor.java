@@ -16,10 +16,18 @@ import me.tomassetti.symbolsolver.model.typesystem.ReferenceTypeUsage;
 import me.tomassetti.symbolsolver.model.typesystem.TypeUsage;
 import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
 import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFacade;
+import me.tomassetti.symbolsolver.javaparsermodel.TypeTable;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * It print information extracted from a source file. It is mainly intended as an example usage of JavaSymbolSolver.
@@ -66,61 +74,103 @@ public class SourceFileInfoExtractor {
         return ko;
     }
 
-    private void solveTypeDecl(ClassOrInterfaceDeclaration node) {
-        TypeDeclaration typeDeclaration = JavaParserFacade.get(typeSolver).getTypeDeclaration(node);
-        if (typeDeclaration.isClass()) {
-            out.println("\n[ Class " + typeDeclaration.getQualifiedName() + " ]");
-            for (ReferenceTypeUsage sc : typeDeclaration.asClass().getAllSuperClasses()) {
-                out.println("  superclass: " + sc.getQualifiedName());
-            }
-            for (TypeDeclaration sc : typeDeclaration.asClass().getAllInterfaces()) {
-                out.println("  interface: " + sc.getQualifiedName());
+    /**
+     * Solve the given source file or all the source files under the given directory, in the order of their paths.
+     */
+    public void solve(File file) throws IOException, ParseException {
+        for (File sourceFile : sourceFiles(file)) {
+            FileSolver fileSolver = new FileSolver(out, err);
+            try {
+                fileSolver.solve(sourceFile);
+            } finally {
+                addCounters(fileSolver);
             }
         }
     }
 
-    private void solve(Node node) {
-        if (node instanceof ClassOrInterfaceDeclaration) {
-            solveTypeDecl((ClassOrInterfaceDeclaration) node);
-        } else if (node instanceof Expression) {
-            if ((node.getParentNode() instanceof ImportDeclaration) || (node.getParentNode() instanceof Expression)
-                    || (node.getParentNode() instanceof MethodDeclaration)
-                    || (node.getParentNode() instanceof PackageDeclaration)) {
-                // skip
-            } else if ((node.getParentNode() instanceof Statement) || (node.getParentNode() instanceof VariableDeclarator)) {
-                try {
-                    TypeUsage ref = JavaParserFacade.get(typeSolver).getType(node);
-                    out.println("  Line " + node.getBeginLine() + ") " + node + " ==> " + ref.describe());
-                    ok++;
-                } catch (UnsupportedOperationException upe) {
-                    unsupported++;
-                    err.println(upe.getMessage());
-                    throw upe;
-                } catch (RuntimeException re) {
-                    ko++;
-                    err.println(re.getMessage());
-                    throw re;
-                }
+    /**
+     * Like {@link #solve(File)}, but the source files are solved by a pool of the given number of threads, sharing
+     * the type solver. The output does not depend on the number of threads: the output of each file is buffered and
+     * printed in the order of the paths. If a file cannot be solved the output of the files preceding it, and of the
+     * file itself, is printed and then the error is thrown, as {@link #solve(File)} would do.
+     */
+    public void solveInParallel(File file, int parallelism) throws IOException, ParseException {
+        List<File> sourceFiles = sourceFiles(file);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        List<FileResult> results = new ArrayList<>();
+        try {
+            List<Future<FileResult>> futures = new ArrayList<>();
+            for (File sourceFile : sourceFiles) {
+                futures.add(pool.submit(() -> solveBuffered(sourceFile)));
+            }
+            for (Future<FileResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        for (FileResult result : results) {
+            out.print(result.out.toString());
+            if (err != out) {
+                err.print(result.err.toString());
+            }
+            addCounters(result.fileSolver);
+            if (result.failure instanceof IOException) {
+                throw (IOException) result.failure;
+            } else if (result.failure instanceof ParseException) {
+                throw (ParseException) result.failure;
+            } else if (result.failure instanceof RuntimeException) {
+                throw (RuntimeException) result.failure;
+            } else if (result.failure != null) {
+                throw new RuntimeException(result.failure);
             }
         }
-        for (Node child : node.getChildrenNodes()) {
-            solve(child);
+    }
+
+    private FileResult solveBuffered(File sourceFile) {
+        ByteArrayOutputStream outBuffer = new ByteArrayOutputStream();
+        // when out and err are the same stream messages have to be kept in order
+        ByteArrayOutputStream errBuffer = err == out ? outBuffer : new ByteArrayOutputStream();
+        PrintStream bufferedOut = new PrintStream(outBuffer);
+        PrintStream bufferedErr = errBuffer == outBuffer ? bufferedOut : new PrintStream(errBuffer);
+        FileSolver fileSolver = new FileSolver(bufferedOut, bufferedErr);
+        Exception failure = null;
+        try {
+            fileSolver.solve(sourceFile);
+        } catch (IOException | ParseException | RuntimeException e) {
+            failure = e;
         }
+        bufferedOut.flush();
+        bufferedErr.flush();
+        return new FileResult(fileSolver, outBuffer, errBuffer, failure);
     }
 
-    public void solve(File file) throws IOException, ParseException {
+    private void addCounters(FileSolver fileSolver) {
+        ok += fileSolver.ok;
+        ko += fileSolver.ko;
+        unsupported += fileSolver.unsupported;
+    }
+
+    private static List<File> sourceFiles(File file) {
+        List<File> sourceFiles = new ArrayList<>();
+        collectSourceFiles(file, sourceFiles);
+        return sourceFiles;
+    }
+
+    private static void collectSourceFiles(File file, List<File> sourceFiles) {
         if (file.isDirectory()) {
-            for (File f : file.listFiles()) {
-                solve(f);
-            }
-        } else {
-            if (file.getName().endsWith(".java")) {
-                if (printFileName) {
-                    out.println("- parsing " + file.getAbsolutePath());
-                }
-                CompilationUnit cu = JavaParser.parse(file);
-                solve(cu);
+            File[] children = file.listFiles();
+            Arrays.sort(children);
+            for (File child : children) {
+                collectSourceFiles(child, sourceFiles);
             }
+        } else if (file.getName().endsWith(".java")) {
+            sourceFiles.add(file);
         }
     }
 
@@ -128,4 +178,87 @@ public class SourceFileInfoExtractor {
         this.typeSolver = typeSolver;
     }
 
+    /**
+     * Solves a single file, keeping its own counters.
+     */
+    private class FileSolver {
+        private PrintStream out;
+        private PrintStream err;
+        private int ok = 0;
+        private int ko = 0;
+        private int unsupported = 0;
+
+        FileSolver(PrintStream out, PrintStream err) {
+            this.out = out;
+            this.err = err;
+        }
+
+        void solve(File file) throws IOException, ParseException {
+            if (printFileName) {
+                out.println("- parsing " + file.getAbsolutePath());
+            }
+            CompilationUnit cu = JavaParser.parse(file);
+            solve(cu, JavaParserFacade.get(typeSolver).getTypes(cu));
+        }
+
+        private void solveTypeDecl(ClassOrInterfaceDeclaration node) {
+            TypeDeclaration typeDeclaration = JavaParserFacade.get(typeSolver).getTypeDeclaration(node);
+            if (typeDeclaration.isClass()) {
+                out.println("\n[ Class " + typeDeclaration.getQualifiedName() + " ]");
+                for (ReferenceTypeUsage sc : typeDeclaration.asClass().getAllSuperClasses()) {
+                    out.println("  superclass: " + sc.getQualifiedName());
+                }
+                for (TypeDeclaration sc : typeDeclaration.asClass().getAllInterfaces()) {
+                    out.println("  interface: " + sc.getQualifiedName());
+                }
+            }
+        }
+
+        private void solve(Node node, TypeTable types) {
+            if (node instanceof ClassOrInterfaceDeclaration) {
+                solveTypeDecl((ClassOrInterfaceDeclaration) node);
+            } else if (node instanceof Expression) {
+                if ((node.getParentNode() instanceof ImportDeclaration) || (node.getParentNode() instanceof Expression)
+                        || (node.getParentNode() instanceof MethodDeclaration)
+                        || (node.getParentNode() instanceof PackageDeclaration)) {
+                    // skip
+                } else if ((node.getParentNode() instanceof Statement) || (node.getParentNode() instanceof VariableDeclarator)) {
+                    try {
+                        if (types.getFailure(node) != null) {
+                            throw types.getFailure(node);
+                        }
+                        TypeUsage ref = types.contains(node) ? types.getType(node) : JavaParserFacade.get(typeSolver).getType(node);
+                        out.println("  Line " + node.getBeginLine() + ") " + node + " ==> " + ref.describe());
+                        ok++;
+                    } catch (UnsupportedOperationException upe) {
+                        unsupported++;
+                        err.println(upe.getMessage());
+                        throw upe;
+                    } catch (RuntimeException re) {
+                        ko++;
+                        err.println(re.getMessage());
+                        throw re;
+                    }
+                }
+            }
+            for (Node child : node.getChildrenNodes()) {
+                solve(child, types);
+            }
+        }
+    }
+
+    private static class FileResult {
+        private FileSolver fileSolver;
+        private ByteArrayOutputStream out;
+        private ByteArrayOutputStream err;
+        private Exception failure;
+
+        FileResult(FileSolver fileSolver, ByteArrayOutputStream out, ByteArrayOutputStream err, Exception failure) {
+            this.fileSolver = fileSolver;
+            this.out = out;
+            this.err = err;
+            this.failure = failure;
+        }
+    }
+
 }
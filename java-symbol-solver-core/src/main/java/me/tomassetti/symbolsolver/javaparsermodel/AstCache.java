@@ -0,0 +1,27 @@
+package me.tomassetti.symbolsolver.javaparsermodel;
+
+import com.github.javaparser.ast.Node;
+import me.tomassetti.symbolsolver.model.declarations.TypeDeclaration;
+import me.tomassetti.symbolsolver.model.resolution.Context;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * What a facade caches for the nodes of one AST (usually a compilation unit). Everything cached for an AST is
+ * discarded at once, when the AST is evicted.
+ */
+class AstCache {
+
+    final NodeTypeCache typesWithLambdasSolved = new NodeTypeCache();
+    final NodeTypeCache typesWithoutLambdasSolved = new NodeTypeCache();
+    // the declarations wrapping the type declarations of the AST, created once so that what they memoize is reused
+    final Map<Node, TypeDeclaration> typeDeclarations = Collections.synchronizedMap(new IdentityHashMap<>());
+    // the contexts of the nodes, created once so that walking up the scopes reuses the same chain of contexts
+    final Map<Node, Context> contexts = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    long typesCount() {
+        return typesWithLambdasSolved.size() + typesWithoutLambdasSolved.size();
+    }
+}
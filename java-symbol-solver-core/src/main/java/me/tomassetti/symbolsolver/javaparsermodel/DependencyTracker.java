@@ -0,0 +1,142 @@
+package me.tomassetti.symbolsolver.javaparsermodel;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.google.common.collect.MapMaker;
+import me.tomassetti.symbolsolver.javaparsermodel.declarations.JavaParserClassDeclaration;
+import me.tomassetti.symbolsolver.javaparsermodel.declarations.JavaParserEnumDeclaration;
+import me.tomassetti.symbolsolver.javaparsermodel.declarations.JavaParserInterfaceDeclaration;
+import me.tomassetti.symbolsolver.javaparsermodel.declarations.JavaParserMethodDeclaration;
+import me.tomassetti.symbolsolver.model.declarations.MethodDeclaration;
+import me.tomassetti.symbolsolver.model.declarations.TypeDeclaration;
+import me.tomassetti.symbolsolver.model.typesystem.ReferenceTypeUsage;
+import me.tomassetti.symbolsolver.model.typesystem.TypeUsage;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records which compilation units were used to calculate the types of the nodes of other compilation units, so
+ * that when a compilation unit changes only the types depending on it have to be calculated again
+ * (see {@link JavaParserFacade#invalidate(CompilationUnit)}). Each facade has its own tracker.
+ *
+ * While the type of a node is calculated the compilation unit of the node is the current one: the declarations
+ * obtained from other compilation units in the meantime make it depend on them. The calculations in progress are
+ * kept per thread, and only while they last; compilation units are held through weak references.
+ */
+public final class DependencyTracker {
+
+    private static class Frame {
+        private final DependencyTracker tracker;
+        private final Node root;
+
+        private Frame(DependencyTracker tracker, Node root) {
+            this.tracker = tracker;
+            this.root = root;
+        }
+    }
+
+    private static final ThreadLocal<Deque<Frame>> resolving = ThreadLocal.withInitial(ArrayDeque::new);
+
+    // compilation unit -> compilation units whose types were calculated using its declarations
+    private final Map<CompilationUnit, Set<CompilationUnit>> dependents = new MapMaker().weakKeys().makeMap();
+
+    DependencyTracker() {
+    }
+
+    /**
+     * The types calculated from now on, until {@link #exit()}, are for the compilation unit of the given node.
+     */
+    void enter(Node node) {
+        Node root = NodeTypeCache.root(node);
+        Deque<Frame> stack = resolving.get();
+        if (!stack.isEmpty()) {
+            record(root, stack.peek());
+        }
+        stack.push(new Frame(this, root));
+    }
+
+    static void exit() {
+        resolving.get().pop();
+    }
+
+    /**
+     * The declaration has been used to calculate the type currently being calculated.
+     */
+    public static void recordUse(TypeDeclaration typeDeclaration) {
+        if (typeDeclaration instanceof JavaParserClassDeclaration) {
+            recordUse(((JavaParserClassDeclaration) typeDeclaration).getWrappedNode());
+        } else if (typeDeclaration instanceof JavaParserInterfaceDeclaration) {
+            recordUse(((JavaParserInterfaceDeclaration) typeDeclaration).getWrappedNode());
+        } else if (typeDeclaration instanceof JavaParserEnumDeclaration) {
+            recordUse(((JavaParserEnumDeclaration) typeDeclaration).getWrappedNode());
+        }
+    }
+
+    /**
+     * The declaration has been used to calculate the type currently being calculated.
+     */
+    public static void recordUse(MethodDeclaration methodDeclaration) {
+        if (methodDeclaration instanceof JavaParserMethodDeclaration) {
+            recordUse(((JavaParserMethodDeclaration) methodDeclaration).getWrappedNode());
+        }
+    }
+
+    /**
+     * The declarations referred by the type have been used to calculate the type currently being calculated.
+     */
+    static void recordUse(TypeUsage typeUsage) {
+        if (typeUsage instanceof ReferenceTypeUsage) {
+            recordUse(((ReferenceTypeUsage) typeUsage).getTypeDeclaration());
+            for (TypeUsage typeParameter : ((ReferenceTypeUsage) typeUsage).parameters()) {
+                recordUse(typeParameter);
+            }
+        }
+    }
+
+    private static void recordUse(Node declarationNode) {
+        Deque<Frame> stack = resolving.get();
+        if (!stack.isEmpty()) {
+            record(NodeTypeCache.root(declarationNode), stack.peek());
+        }
+    }
+
+    private static void record(Node used, Frame user) {
+        if (used != user.root && used instanceof CompilationUnit && user.root instanceof CompilationUnit) {
+            user.tracker.dependents.computeIfAbsent((CompilationUnit) used, (cu) -> Collections.newSetFromMap(
+                    new MapMaker().weakKeys().<CompilationUnit, Boolean>makeMap())).add((CompilationUnit) user.root);
+        }
+    }
+
+    /**
+     * The compilation units whose types were calculated using the given one, directly or indirectly. The set
+     * compares compilation units by identity.
+     */
+    public Set<CompilationUnit> getDependents(CompilationUnit compilationUnit) {
+        Set<CompilationUnit> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<CompilationUnit> toVisit = new ArrayDeque<>();
+        toVisit.push(compilationUnit);
+        while (!toVisit.isEmpty()) {
+            Set<CompilationUnit> direct = dependents.get(toVisit.pop());
+            if (direct != null) {
+                for (CompilationUnit dependent : direct) {
+                    if (dependent != compilationUnit && result.add(dependent)) {
+                        toVisit.push(dependent);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Forget the dependents of the given compilation unit: they are recorded again when their types are calculated.
+     */
+    void forget(CompilationUnit compilationUnit) {
+        dependents.remove(compilationUnit);
+    }
+}
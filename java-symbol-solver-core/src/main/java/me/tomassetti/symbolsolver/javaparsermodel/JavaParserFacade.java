@@ -1,10 +1,16 @@
 package me.tomassetti.symbolsolver.javaparsermodel;
 
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
 import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.PackageDeclaration;
 import com.github.javaparser.ast.body.*;
 import com.github.javaparser.ast.expr.*;
 import com.github.javaparser.ast.stmt.ExpressionStmt;
+import com.github.javaparser.ast.stmt.Statement;
 import com.github.javaparser.ast.type.*;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import javaslang.Tuple2;
 import me.tomassetti.symbolsolver.javaparsermodel.declarations.*;
 import me.tomassetti.symbolsolver.logic.FunctionalInterfaceLogic;
@@ -19,9 +25,10 @@ import me.tomassetti.symbolsolver.model.resolution.TypeParameter;
 import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
 import me.tomassetti.symbolsolver.model.typesystem.*;
 import me.tomassetti.symbolsolver.resolution.*;
-import me.tomassetti.symbolsolver.resolution.typesolvers.JreTypeSolver;
+import me.tomassetti.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -29,6 +36,17 @@ import java.util.stream.Collectors;
 
 /**
  * Class to be used by final users to solve symbols for JavaParser ASTs.
+ *
+ * Facades are thread-safe: the one returned for a type solver can be shared by threads working on different
+ * compilation units, or on the same ones, provided the ASTs are not modified while they are being solved.
+ * The type solver itself has to be thread-safe, see {@link TypeSolver}.
+ *
+ * The types calculated and the methods resolved are cached, as well as the contexts of the nodes (see
+ * {@link #getContext(Node)}). Types and contexts are cached per AST: the caches are bounded only by
+ * the number of ASTs (see {@link #setCacheSize(long)}), whatever their size, and keep those ASTs reachable. When a
+ * compilation unit is not needed anymore it is better to call {@link #evict(CompilationUnit)}. When a compilation
+ * unit is modified {@link #invalidate(CompilationUnit)} forgets its types together with the ones calculated using
+ * its declarations.
  */
 public class JavaParserFacade {
 
@@ -39,22 +57,192 @@ public class JavaParserFacade {
         consoleHandler.setLevel(Level.INFO);
         logger.addHandler(consoleHandler);
     }
-    private static Map<TypeSolver, JavaParserFacade> instances = new HashMap<>();
-    private TypeSolver typeSolver;
+    /**
+     * Default maximum number of ASTs whose types are cached.
+     */
+    public static final long DEFAULT_CACHE_SIZE = 1000;
+
+    private static Map<TypeSolver, JavaParserFacade> instances = new ConcurrentHashMap<>();
+    private TypeSolver givenTypeSolver;
+    // root of givenTypeSolver, found when first needed
+    private volatile TypeSolver typeSolver;
     private SymbolSolver symbolSolver;
-    private Map<Node, TypeUsage> cacheWithLambdasSolved = new IdentityHashMap<>();
-    private Map<Node, TypeUsage> cacheWithoutLambadsSolved = new IdentityHashMap<>();
+    // root of an AST -> types of its nodes. Keys are weak only to be compared by identity: the types refer to
+    // the nodes of the same AST, so an entry is discarded when the cache is full or through evict, not by the GC.
+    // Types are calculated outside of the caches, as calculating a type requires the types of other nodes:
+    // two threads can calculate the same type at the same time, obtaining equivalent results.
+    private volatile Cache<Node, AstCache> astCaches;
+    private MethodResolutionCache methodResolutionCache = new MethodResolutionCache();
+    private final DependencyTracker dependencyTracker = new DependencyTracker();
+    private volatile TypeUsage stringType;
 
     private JavaParserFacade(TypeSolver typeSolver) {
-        this.typeSolver = typeSolver.getRoot();
+        this.givenTypeSolver = typeSolver;
         this.symbolSolver = new SymbolSolver(typeSolver);
+        setCacheSize(DEFAULT_CACHE_SIZE);
     }
 
     public static JavaParserFacade get(TypeSolver typeSolver) {
-        if (!instances.containsKey(typeSolver)) {
-            instances.put(typeSolver, new JavaParserFacade(typeSolver));
+        return instances.computeIfAbsent(typeSolver, JavaParserFacade::new);
+    }
+
+    private TypeSolver typeSolver() {
+        TypeSolver typeSolver = this.typeSolver;
+        if (typeSolver == null) {
+            typeSolver = givenTypeSolver.getRoot();
+            this.typeSolver = typeSolver;
+        }
+        return typeSolver;
+    }
+
+    /**
+     * Forget all the facades, together with the types they cached, and all the contexts created.
+     */
+    public static void clearInstances() {
+        instances.clear();
+    }
+
+    /**
+     * Set the maximum number of ASTs whose types are cached, discarding the types cached so far. When the cache is
+     * full the types of the least recently used AST are discarded.
+     */
+    public void setCacheSize(long maximumSize) {
+        this.astCaches = CacheBuilder.newBuilder().weakKeys().maximumSize(maximumSize).build();
+        this.methodResolutionCache.clear();
+    }
+
+    /**
+     * Forget the types calculated, the declarations and the contexts created for the nodes of the given compilation
+     * unit, together with the method resolutions involving the types it declares.
+     */
+    public void evict(CompilationUnit compilationUnit) {
+        methodResolutionCache.evictTypes(declaredTypeNames(compilationUnit));
+        astCaches.invalidate(compilationUnit);
+    }
+
+    /**
+     * Forget the types calculated for the given compilation unit and for all the compilation units whose types
+     * were calculated using its declarations, directly or indirectly, as {@link #evict(CompilationUnit)} does.
+     * The types of all the other compilation units stay cached. To be called when the compilation unit is modified
+     * or replaced by a new version.
+     *
+     * The other memoized results which could depend on the compilation unit are discarded too:
+     * <ul>
+     * <li>the declarations of the evicted compilation units, with the ancestors they memoized, and their contexts,
+     * with the types resolved through their imports, as they are cached with the types;</li>
+     * <li>the member tables of the types declared in the compilation unit;</li>
+     * <li>the reference types interned for the type solver, which memoize their ancestors;</li>
+     * <li>the names not solved by the root type solver, if it is a {@link CombinedTypeSolver}: the compilation
+     * unit may declare them now.</li>
+     * </ul>
+     * Declarations obtained from type solvers reading source files (e.g., {@link
+     * me.tomassetti.symbolsolver.resolution.typesolvers.JavaParserTypeSolver}) are not affected: they reflect the
+     * files they were read from.
+     *
+     * @return the dependent compilation units, whose types will be calculated again
+     */
+    public Set<CompilationUnit> invalidate(CompilationUnit compilationUnit) {
+        Set<CompilationUnit> dependents = dependencyTracker.getDependents(compilationUnit);
+        evict(compilationUnit);
+        dependencyTracker.forget(compilationUnit);
+        for (CompilationUnit dependent : dependents) {
+            evict(dependent);
+        }
+        JavaParserMemberTables.forget(compilationUnit);
+        TypeUsageInterner.forget(givenTypeSolver);
+        TypeUsageInterner.forget(typeSolver());
+        if (typeSolver() instanceof CombinedTypeSolver) {
+            ((CombinedTypeSolver) typeSolver()).invalidateCache();
+        }
+        return dependents;
+    }
+
+    /**
+     * Qualified names of the types declared in the compilation unit, nested types included.
+     */
+    private static Set<String> declaredTypeNames(CompilationUnit compilationUnit) {
+        Set<String> names = new HashSet<>();
+        if (compilationUnit.getTypes() != null) {
+            String prefix = compilationUnit.getPackage() == null ? "" : compilationUnit.getPackage().getName().toString() + ".";
+            for (com.github.javaparser.ast.body.TypeDeclaration type : compilationUnit.getTypes()) {
+                addTypeNames(names, prefix, type);
+            }
+        }
+        return names;
+    }
+
+    private static void addTypeNames(Set<String> names, String prefix, com.github.javaparser.ast.body.TypeDeclaration type) {
+        String name = prefix + type.getName();
+        names.add(name);
+        if (type.getMembers() != null) {
+            for (BodyDeclaration member : type.getMembers()) {
+                if (member instanceof com.github.javaparser.ast.body.TypeDeclaration) {
+                    addTypeNames(names, name + ".", (com.github.javaparser.ast.body.TypeDeclaration) member);
+                }
+            }
         }
-        return instances.get(typeSolver);
+    }
+
+    /**
+     * Overload resolutions of method calls, shared by all the ASTs solved through this facade.
+     */
+    public MethodResolutionCache getMethodResolutionCache() {
+        return methodResolutionCache;
+    }
+
+    /**
+     * Number of types currently cached.
+     */
+    public long getCachedTypesCount() {
+        long count = 0;
+        for (AstCache astCache : astCaches.asMap().values()) {
+            count += astCache.typesCount();
+        }
+        return count;
+    }
+
+    /**
+     * Number of contexts currently cached.
+     */
+    public long getCachedContextsCount() {
+        long count = 0;
+        for (AstCache astCache : astCaches.asMap().values()) {
+            count += astCache.contexts.size();
+        }
+        return count;
+    }
+
+    /**
+     * The context of the given node, created once per node.
+     */
+    public Context getContext(Node node) {
+        Map<Node, Context> contexts = astCache(node).contexts;
+        Context context = contexts.get(node);
+        if (context == null) {
+            // created outside of the map: creating a context can require the contexts of the parents
+            Context created = JavaParserFactory.createContext(node, givenTypeSolver);
+            context = contexts.putIfAbsent(node, created);
+            if (context == null) {
+                context = created;
+            }
+        }
+        return context;
+    }
+
+    private AstCache astCache(Node node) {
+        return astCaches.asMap().computeIfAbsent(NodeTypeCache.root(node), (root) -> new AstCache());
+    }
+
+    /**
+     * The type of string literals, solved once per facade through its type solver.
+     */
+    private TypeUsage getStringType() {
+        TypeUsage stringType = this.stringType;
+        if (stringType == null) {
+            stringType = TypeUsageInterner.intern(new ReferenceTypeUsageImpl(typeSolver().solveType("java.lang.String"), typeSolver()));
+            this.stringType = stringType;
+        }
+        return stringType;
     }
 
     private static TypeUsage solveGenericTypes(TypeUsage typeUsage, Context context, TypeSolver typeSolver) {
@@ -115,11 +303,11 @@ public class JavaParserFacade {
                 params.add(placeholder);
                 placeholders.add(placeholder);
             } else {
-                params.add(JavaParserFacade.get(typeSolver).getType(expression));
+                params.add(JavaParserFacade.get(typeSolver()).getType(expression));
             }
             i++;
         }
-        SymbolReference<MethodDeclaration> res = JavaParserFactory.getContext(methodCallExpr, typeSolver).solveMethod(methodCallExpr.getName(), params, typeSolver);
+        SymbolReference<MethodDeclaration> res = JavaParserFactory.getContext(methodCallExpr, typeSolver()).solveMethod(methodCallExpr.getName(), params, typeSolver());
         for (LambdaArgumentTypeUsagePlaceholder placeholder : placeholders) {
             placeholder.setMethod(res);
         }
@@ -130,9 +318,107 @@ public class JavaParserFacade {
         return getType(node, true);
     }
 
+    /**
+     * Calculate the types of all the expressions found under the given node (usually a compilation unit) in a
+     * single walk of the tree. Declarations and statements are visited top-down, carrying the context of the
+     * innermost one; the sub-expressions of an expression are typed before it, so when typing an expression the
+     * types of its sub-expressions are already cached. Only the scopes of method calls and field accesses are typed
+     * before their sub-expressions: a scope which cannot be typed is then checked to be a type name. Expressions
+     * which cannot be typed do not stop the walk: the exceptions thrown are recorded in the table.
+     *
+     * Names in package and import declarations, annotations, the exceptions declared by methods and constructors and
+     * the names of types and packages used as scopes (like <code>Collections</code> in
+     * <code>Collections.emptyList()</code>) are not typed.
+     */
+    public TypeTable getTypes(Node root) {
+        TypeTable table = new TypeTable();
+        collectTypes(root, getContext(root), table);
+        return table;
+    }
+
+    private void collectTypes(Node node, Context context, TypeTable table) {
+        if (node instanceof PackageDeclaration || node instanceof ImportDeclaration || node instanceof AnnotationExpr) {
+            return;
+        }
+        if (node instanceof Expression && (node.getParentNode() instanceof com.github.javaparser.ast.body.MethodDeclaration
+                || node.getParentNode() instanceof ConstructorDeclaration)) {
+            return;
+        }
+        if (node instanceof Statement || node instanceof BodyDeclaration || node instanceof LambdaExpr) {
+            context = getContext(node);
+        }
+        TypeUsage type = null;
+        RuntimeException failure = null;
+        if (isScope(node)) {
+            // typed before its sub-expressions: if it cannot be typed it may name a type, and they packages or types
+            try {
+                type = getType(node);
+            } catch (RuntimeException e) {
+                if (namesType((Expression) node, context, e)) {
+                    return;
+                }
+                failure = e;
+            }
+        }
+        for (Node child : node.getChildrenNodes()) {
+            collectTypes(child, context, table);
+        }
+        if (node instanceof Expression) {
+            if (type == null && failure == null) {
+                try {
+                    type = getType(node);
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+            }
+            if (failure == null) {
+                table.add(node, type);
+            } else {
+                table.addFailure(node, failure);
+            }
+        }
+    }
+
+    private static boolean isScope(Node node) {
+        Node parent = node.getParentNode();
+        return (parent instanceof MethodCallExpr && ((MethodCallExpr) parent).getScope() == node)
+                || (parent instanceof FieldAccessExpr && ((FieldAccessExpr) parent).getScope() == node);
+    }
+
+    /**
+     * Does the given scope, which could not be typed, name a type (like <code>Collections</code> in
+     * <code>Collections.emptyList()</code>)? A failure solving the name is attached to the one typing it.
+     */
+    private boolean namesType(Expression scope, Context context, RuntimeException typingFailure) {
+        if (!(scope instanceof NameExpr) && !(scope instanceof FieldAccessExpr)) {
+            return false;
+        }
+        try {
+            return context.solveType(scope.toString(), typeSolver()).isSolved();
+        } catch (RuntimeException e) {
+            typingFailure.addSuppressed(e);
+            return false;
+        }
+    }
+
     public TypeUsage getType(Node node, boolean solveLambdas) {
+        dependencyTracker.enter(node);
+        try {
+            TypeUsage type = getTypeThroughCaches(node, solveLambdas);
+            DependencyTracker.recordUse(type);
+            return type;
+        } finally {
+            DependencyTracker.exit();
+        }
+    }
+
+    private TypeUsage getTypeThroughCaches(Node node, boolean solveLambdas) {
+        AstCache astCache = astCache(node);
+        NodeTypeCache cacheWithLambdasSolved = astCache.typesWithLambdasSolved;
+        NodeTypeCache cacheWithoutLambadsSolved = astCache.typesWithoutLambdasSolved;
         if (solveLambdas) {
-            if (!cacheWithLambdasSolved.containsKey(node)) {
+            TypeUsage cached = cacheWithLambdasSolved.get(node);
+            if (cached == null) {
                 TypeUsage res = getTypeConcrete(node, solveLambdas);
 
                 cacheWithLambdasSolved.put(node, res);
@@ -141,25 +427,27 @@ public class JavaParserFacade {
                 if (node instanceof MethodCallExpr) {
                     MethodCallExpr methodCallExpr = (MethodCallExpr)node;
                     for (Node arg : methodCallExpr.getArgs()) {
-                        if (!cacheWithLambdasSolved.containsKey(arg)) {
+                        if (cacheWithLambdasSolved.get(arg) == null) {
                             getType(arg, true);
                             secondPassNecessary = true;
                         }
                     }
                 }
                 if (secondPassNecessary) {
-                    cacheWithLambdasSolved.remove(node);
-                    cacheWithLambdasSolved.put(node, getType(node, true));
+                    // not through getType: the types of the arguments could have been discarded already
+                    res = getTypeConcrete(node, true);
+                    cacheWithLambdasSolved.put(node, res);
                 }
                 logger.finer("getType on " + node + " -> " + res);
+                return res;
             }
-            return cacheWithLambdasSolved.get(node);
+            return cached;
         } else {
-            Optional<TypeUsage> res = find(cacheWithLambdasSolved, node);
+            Optional<TypeUsage> res = cacheWithLambdasSolved.find(node);
             if (res.isPresent()) {
                 return res.get();
             }
-            res = find(cacheWithoutLambadsSolved, node);
+            res = cacheWithoutLambadsSolved.find(node);
             if (!res.isPresent()) {
                 TypeUsage resType = getTypeConcrete(node, solveLambdas);
                 cacheWithoutLambadsSolved.put(node, resType);
@@ -170,34 +458,6 @@ public class JavaParserFacade {
         }
     }
 
-    private Optional<TypeUsage> find(Map<Node, TypeUsage> map, Node node) {
-        if (map.containsKey(node)) {
-            return Optional.of(map.get(node));
-        }
-        if (node instanceof LambdaExpr) {
-            return find(map, (LambdaExpr)node);
-        } else {
-            return Optional.empty();
-        }
-    }
-
-    /**
-     * For some reasons LambdaExprs are duplicate and the equals method is not implemented correctly.
-     * @param map
-     * @return
-     */
-    private Optional<TypeUsage> find(Map<Node, TypeUsage> map, LambdaExpr lambdaExpr) {
-        for (Node key : map.keySet()) {
-            if (key instanceof LambdaExpr) {
-                LambdaExpr keyLambdaExpr = (LambdaExpr)key;
-                if (keyLambdaExpr.toString().equals(lambdaExpr.toString()) && keyLambdaExpr.getParentNode() == lambdaExpr.getParentNode()) {
-                    return Optional.of(map.get(keyLambdaExpr));
-                }
-            }
-        }
-        return Optional.empty();
-    }
-
     /**
      * Should return more like a TypeApplication: a TypeDeclaration and possible parameters or array modifiers.
      *
@@ -208,7 +468,7 @@ public class JavaParserFacade {
         if (node instanceof NameExpr) {
             NameExpr nameExpr = (NameExpr) node;
             logger.finest("getType on name expr " + node);
-            Optional<me.tomassetti.symbolsolver.model.resolution.Value> value = new SymbolSolver(typeSolver).solveSymbolAsValue(nameExpr.getName(), nameExpr);
+            Optional<me.tomassetti.symbolsolver.model.resolution.Value> value = new SymbolSolver(typeSolver()).solveSymbolAsValue(nameExpr.getName(), nameExpr);
             if (!value.isPresent()) {
                 throw new UnsolvedSymbolException("FOO Solving " + node, nameExpr.getName());
             } else {
@@ -226,7 +486,7 @@ public class JavaParserFacade {
             if (node.getParentNode() instanceof MethodCallExpr) {
                 MethodCallExpr callExpr = (MethodCallExpr) node.getParentNode();
                 int pos = JavaParserSymbolDeclaration.getParamPos(node);
-                SymbolReference<MethodDeclaration> refMethod = JavaParserFacade.get(typeSolver).solve(callExpr);
+                SymbolReference<MethodDeclaration> refMethod = JavaParserFacade.get(typeSolver()).solve(callExpr);
                 if (!refMethod.isSolved()) {
                     throw new UnsolvedSymbolException(callExpr.getName());
                 }
@@ -235,8 +495,8 @@ public class JavaParserFacade {
                 if (solveLambdas) {
                     TypeUsage result = refMethod.getCorrespondingDeclaration().getParam(pos).getType();
                     // We need to replace the type variables
-                    Context ctx = JavaParserFactory.getContext(node, typeSolver);
-                    result = solveGenericTypes(result, ctx, typeSolver);
+                    Context ctx = JavaParserFactory.getContext(node, typeSolver());
+                    result = solveGenericTypes(result, ctx, typeSolver());
 
                     //We should find out which is the functional method (e.g., apply) and replace the params of the
                     //solveLambdas with it, to derive so the values. We should also consider the value returned by the
@@ -270,10 +530,10 @@ public class JavaParserFacade {
         } else if (node instanceof VariableDeclarator) {
             if (node.getParentNode() instanceof FieldDeclaration) {
                 FieldDeclaration parent = (FieldDeclaration) node.getParentNode();
-                return JavaParserFacade.get(typeSolver).convertToUsage(parent.getType(), parent);
+                return JavaParserFacade.get(typeSolver()).convertToUsage(parent.getType(), parent);
             } else if (node.getParentNode() instanceof VariableDeclarationExpr) {
                 VariableDeclarationExpr parent = (VariableDeclarationExpr) node.getParentNode();
-                return JavaParserFacade.get(typeSolver).convertToUsage(parent.getType(), parent);
+                return JavaParserFacade.get(typeSolver()).convertToUsage(parent.getType(), parent);
             } else {
                 throw new UnsupportedOperationException(node.getParentNode().getClass().getCanonicalName());
             }
@@ -282,12 +542,12 @@ public class JavaParserFacade {
             if (parameter.getType() instanceof UnknownType) {
                 throw new IllegalStateException("Parameter has unknown type: " + parameter);
             }
-            return JavaParserFacade.get(typeSolver).convertToUsage(parameter.getType(), parameter);
+            return JavaParserFacade.get(typeSolver()).convertToUsage(parameter.getType(), parameter);
         } else if (node instanceof FieldAccessExpr) {
             FieldAccessExpr fieldAccessExpr = (FieldAccessExpr) node;
             // We should understand if this is a static access
             try {
-                Optional<me.tomassetti.symbolsolver.model.resolution.Value> value = new SymbolSolver(typeSolver).solveSymbolAsValue(fieldAccessExpr.getField(), fieldAccessExpr);
+                Optional<me.tomassetti.symbolsolver.model.resolution.Value> value = new SymbolSolver(typeSolver()).solveSymbolAsValue(fieldAccessExpr.getField(), fieldAccessExpr);
                 if (value.isPresent()) {
                     return value.get().getUsage();
                 } else {
@@ -297,7 +557,7 @@ public class JavaParserFacade {
                 // Sure, it was not found as value because maybe it is a type and this is a static access
                 if (fieldAccessExpr.getScope() instanceof NameExpr) {
                     NameExpr staticValue = (NameExpr) fieldAccessExpr.getScope();
-                    SymbolReference<TypeDeclaration> typeAccessedStatically = JavaParserFactory.getContext(fieldAccessExpr, typeSolver).solveType(staticValue.toString(), typeSolver);
+                    SymbolReference<TypeDeclaration> typeAccessedStatically = JavaParserFactory.getContext(fieldAccessExpr, typeSolver()).solveType(staticValue.toString(), typeSolver());
                     if (!typeAccessedStatically.isSolved()) {
                         throw e;
                     } else {
@@ -311,7 +571,7 @@ public class JavaParserFacade {
             }
         } else if (node instanceof ObjectCreationExpr) {
             ObjectCreationExpr objectCreationExpr = (ObjectCreationExpr) node;
-            TypeUsage typeUsage = JavaParserFacade.get(typeSolver).convertToUsage(objectCreationExpr.getType(), node);
+            TypeUsage typeUsage = JavaParserFacade.get(typeSolver()).convertToUsage(objectCreationExpr.getType(), node);
             return typeUsage;
         } else if (node instanceof NullLiteralExpr) {
             return NullTypeUsage.INSTANCE;
@@ -326,7 +586,7 @@ public class JavaParserFacade {
 		} else if (node instanceof DoubleLiteralExpr) {
 			return PrimitiveTypeUsage.DOUBLE;
 		} else if (node instanceof StringLiteralExpr) {
-            return new ReferenceTypeUsageImpl(new JreTypeSolver().solveType("java.lang.String"), typeSolver);
+            return getStringType();
         } else if (node instanceof UnaryExpr) {
             UnaryExpr unaryExpr = (UnaryExpr) node;
             switch (unaryExpr.getOperator()) {
@@ -366,7 +626,7 @@ public class JavaParserFacade {
             }
         } else if (node instanceof VariableDeclarationExpr) {
             VariableDeclarationExpr expr = (VariableDeclarationExpr) node;
-            return convertToUsage(expr.getType(), JavaParserFactory.getContext(node, typeSolver));
+            return convertToUsage(expr.getType(), JavaParserFactory.getContext(node, typeSolver()));
         } else if (node instanceof InstanceOfExpr) {
             return PrimitiveTypeUsage.BOOLEAN;
         } else if (node instanceof EnclosedExpr) {
@@ -374,18 +634,18 @@ public class JavaParserFacade {
             return getTypeConcrete(enclosedExpr.getInner(), solveLambdas);
         } else if (node instanceof CastExpr) {
             CastExpr enclosedExpr = (CastExpr) node;
-            return convertToUsage(enclosedExpr.getType(), JavaParserFactory.getContext(node, typeSolver));
+            return convertToUsage(enclosedExpr.getType(), JavaParserFactory.getContext(node, typeSolver()));
         } else if (node instanceof AssignExpr) {
             AssignExpr assignExpr = (AssignExpr) node;
             return getTypeConcrete(assignExpr.getTarget(), solveLambdas);
         } else if (node instanceof ThisExpr) {
-            return new ReferenceTypeUsageImpl(getTypeDeclaration(findContainingTypeDecl(node)), typeSolver);
+            return TypeUsageInterner.intern(new ReferenceTypeUsageImpl(getTypeDeclaration(findContainingTypeDecl(node)), typeSolver()));
         } else if (node instanceof ConditionalExpr) {
             ConditionalExpr conditionalExpr = (ConditionalExpr) node;
             return getTypeConcrete(conditionalExpr.getThenExpr(), solveLambdas);
         } else if (node instanceof ArrayCreationExpr) {
             ArrayCreationExpr arrayCreationExpr = (ArrayCreationExpr) node;
-            TypeUsage res = convertToUsage(arrayCreationExpr.getType(), JavaParserFactory.getContext(node, typeSolver));
+            TypeUsage res = convertToUsage(arrayCreationExpr.getType(), JavaParserFactory.getContext(node, typeSolver()));
             for (int i=0; i<arrayCreationExpr.getArrayCount();i++) {
                 res = new ArrayTypeUsage(res);
             }
@@ -411,7 +671,7 @@ public class JavaParserFacade {
         if (type instanceof UnknownType) {
             throw new IllegalArgumentException("Unknown type");
         }
-        return convertToUsage(type, JavaParserFactory.getContext(context, typeSolver));
+        return convertToUsage(type, JavaParserFactory.getContext(context, typeSolver()));
     }
 
     // This is an hack around an issue in JavaParser
@@ -435,7 +695,7 @@ public class JavaParserFacade {
         } else if (type instanceof ClassOrInterfaceType) {
             ClassOrInterfaceType classOrInterfaceType = (ClassOrInterfaceType) type;
             String name = qName(classOrInterfaceType);
-            SymbolReference<TypeDeclaration> ref = context.solveType(name, typeSolver);
+            SymbolReference<TypeDeclaration> ref = context.solveType(name, typeSolver());
             if (!ref.isSolved()) {
                 throw new UnsolvedSymbolException(name);
             }
@@ -452,7 +712,7 @@ public class JavaParserFacade {
                     return new TypeParameterUsage(javaParserTypeVariableDeclaration.asTypeParameter());
                 }
             } else {
-                return new ReferenceTypeUsageImpl(typeDeclaration, typeParameters, typeSolver);
+                return TypeUsageInterner.intern(new ReferenceTypeUsageImpl(typeDeclaration, typeParameters, typeSolver()));
             }
         } else if (type instanceof PrimitiveType) {
             return PrimitiveTypeUsage.byName(((PrimitiveType) type).getType().name());
@@ -476,7 +736,7 @@ public class JavaParserFacade {
 
 
     public TypeUsage convert(Type type, Node node) {
-        return convert(type, JavaParserFactory.getContext(node, typeSolver));
+        return convert(type, JavaParserFactory.getContext(node, typeSolver()));
     }
 
     public TypeUsage convert(Type type, Context context) {
@@ -492,8 +752,8 @@ public class JavaParserFacade {
                 //params.add(getTypeConcrete(param, false));
             }
         }
-        Context context = JavaParserFactory.getContext(call, typeSolver);
-        Optional<MethodUsage> methodUsage = context.solveMethodAsUsage(call.getName(), params, typeSolver);
+        Context context = JavaParserFactory.getContext(call, typeSolver());
+        Optional<MethodUsage> methodUsage = context.solveMethodAsUsage(call.getName(), params, typeSolver());
         if (!methodUsage.isPresent()) {
             throw new RuntimeException("Method '" + call.getName() + "' cannot be resolved in context "
                     + call + " (line: " + call.getBeginLine() + ") " + context);
@@ -502,11 +762,7 @@ public class JavaParserFacade {
     }
 
     public TypeDeclaration getTypeDeclaration(ClassOrInterfaceDeclaration classOrInterfaceDeclaration) {
-        if (classOrInterfaceDeclaration.isInterface()) {
-            return new JavaParserInterfaceDeclaration(classOrInterfaceDeclaration, typeSolver);
-        } else {
-            return new JavaParserClassDeclaration(classOrInterfaceDeclaration, typeSolver);
-        }
+        return getTypeDeclaration((com.github.javaparser.ast.body.TypeDeclaration) classOrInterfaceDeclaration);
     }
 
     /**
@@ -515,18 +771,33 @@ public class JavaParserFacade {
     public TypeUsage getTypeOfThisIn(Node node) {
         // TODO consider static methods
         if (node instanceof ClassOrInterfaceDeclaration) {
-            JavaParserClassDeclaration classDeclaration = new JavaParserClassDeclaration((ClassOrInterfaceDeclaration) node, typeSolver);
-            return new ReferenceTypeUsageImpl(classDeclaration, typeSolver);
+            return TypeUsageInterner.intern(new ReferenceTypeUsageImpl(getTypeDeclaration((ClassOrInterfaceDeclaration) node), typeSolver()));
         } else {
             return getTypeOfThisIn(node.getParentNode());
         }
     }
 
+    /**
+     * The declaration corresponding to the given node, built on the type solver of this facade. It is created once
+     * per node, as long as the AST is cached.
+     */
     public TypeDeclaration getTypeDeclaration(com.github.javaparser.ast.body.TypeDeclaration typeDeclaration) {
+        TypeDeclaration declaration = astCache(typeDeclaration).typeDeclarations.computeIfAbsent(typeDeclaration,
+                (node) -> createTypeDeclaration(typeDeclaration));
+        DependencyTracker.recordUse(declaration);
+        return declaration;
+    }
+
+    private TypeDeclaration createTypeDeclaration(com.github.javaparser.ast.body.TypeDeclaration typeDeclaration) {
         if (typeDeclaration instanceof ClassOrInterfaceDeclaration) {
-            return getTypeDeclaration((ClassOrInterfaceDeclaration) typeDeclaration);
+            ClassOrInterfaceDeclaration classOrInterfaceDeclaration = (ClassOrInterfaceDeclaration) typeDeclaration;
+            if (classOrInterfaceDeclaration.isInterface()) {
+                return new JavaParserInterfaceDeclaration(classOrInterfaceDeclaration, givenTypeSolver);
+            } else {
+                return new JavaParserClassDeclaration(classOrInterfaceDeclaration, givenTypeSolver);
+            }
         } else if (typeDeclaration instanceof EnumDeclaration) {
-            return new JavaParserEnumDeclaration((EnumDeclaration) typeDeclaration, typeSolver);
+            return new JavaParserEnumDeclaration((EnumDeclaration) typeDeclaration, givenTypeSolver);
         } else {
             throw new UnsupportedOperationException(typeDeclaration.getClass().getCanonicalName());
         }
@@ -19,10 +19,23 @@ import me.tomassetti.symbolsolver.javaparsermodel.declarators.VariableSymbolDecl
 
 public class JavaParserFactory {
 
+    /**
+     * The context of the given node. Contexts are created once per node by the facade of the type solver (see
+     * {@link JavaParserFacade#getContext(Node)}), so that walking up the scopes of a node does not allocate a new
+     * chain of contexts every time.
+     */
     public static Context getContext(Node node, TypeSolver typeSolver) {
         if (node == null) {
             return null;
-        } else if (node instanceof CompilationUnit) {
+        }
+        if (typeSolver == null) {
+            return createContext(node, null);
+        }
+        return JavaParserFacade.get(typeSolver).getContext(node);
+    }
+
+    static Context createContext(Node node, TypeSolver typeSolver) {
+        if (node instanceof CompilationUnit) {
             return new CompilationUnitContext((CompilationUnit) node, typeSolver);
         } else if (node instanceof ForeachStmt) {
             return new ForechStatementContext((ForeachStmt) node, typeSolver);
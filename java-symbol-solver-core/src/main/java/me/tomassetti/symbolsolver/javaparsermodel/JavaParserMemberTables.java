@@ -0,0 +1,166 @@
+package me.tomassetti.symbolsolver.javaparsermodel;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.TypeParameter;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.google.common.cache.CacheBuilder;
+import me.tomassetti.symbolsolver.logic.MethodTable;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Members declared by each type of an AST, indexed by name: methods (grouped by name), fields, nested types and
+ * type parameters. When a name is declared more than once the first declaration wins, as in a scan of the members.
+ *
+ * Tables are built at the first lookup and held through weak keys. They record positions in the lists of members
+ * and type parameters, and the nodes found there only through weak references, so they do not keep their type
+ * reachable and are dropped once the AST is collected. Each lookup compares the lists, by identity, with the nodes
+ * recorded: a table is rebuilt when members or type parameters are added, removed or replaced.
+ */
+public class JavaParserMemberTables {
+
+    private static final Map<TypeDeclaration, Entry> DECLARED_MEMBERS = CacheBuilder.newBuilder()
+            .weakKeys()
+            .<TypeDeclaration, Entry>build()
+            .asMap();
+
+    private JavaParserMemberTables() {
+        // prevent instantiation
+    }
+
+    public static List<MethodDeclaration> declaredMethods(TypeDeclaration typeDeclaration, String name) {
+        List<Integer> indexes = entry(typeDeclaration).methods.get(name);
+        if (indexes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<BodyDeclaration> members = typeDeclaration.getMembers();
+        List<MethodDeclaration> methods = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            methods.add((MethodDeclaration) members.get(index));
+        }
+        return methods;
+    }
+
+    public static Optional<VariableDeclarator> declaredField(TypeDeclaration typeDeclaration, String name) {
+        Integer index = entry(typeDeclaration).fields.get(name);
+        if (index == null) {
+            return Optional.empty();
+        }
+        FieldDeclaration field = (FieldDeclaration) typeDeclaration.getMembers().get(index);
+        return field.getVariables().stream().filter((variable) -> variable.getId().getName().equals(name)).findFirst();
+    }
+
+    public static Optional<TypeDeclaration> declaredType(TypeDeclaration typeDeclaration, String name) {
+        Integer index = entry(typeDeclaration).types.get(name);
+        return index == null ? Optional.empty() : Optional.of((TypeDeclaration) typeDeclaration.getMembers().get(index));
+    }
+
+    public static Optional<TypeParameter> declaredTypeParameter(TypeDeclaration typeDeclaration, String name) {
+        Integer index = entry(typeDeclaration).typeParameters.get(name);
+        return index == null ? Optional.empty() : Optional.of(typeParametersOf(typeDeclaration).get(index));
+    }
+
+    /**
+     * Forget the tables of the types declared in the given compilation unit, which has been modified.
+     */
+    static void forget(CompilationUnit compilationUnit) {
+        DECLARED_MEMBERS.keySet().removeIf((typeDeclaration) -> NodeTypeCache.root(typeDeclaration) == compilationUnit);
+    }
+
+    private static Entry entry(TypeDeclaration typeDeclaration) {
+        List<BodyDeclaration> members = typeDeclaration.getMembers();
+        List<TypeParameter> typeParameters = typeParametersOf(typeDeclaration);
+        Entry entry = DECLARED_MEMBERS.get(typeDeclaration);
+        if (entry == null || !entry.isUpToDate(members, typeParameters)) {
+            entry = new Entry(members, typeParameters);
+            DECLARED_MEMBERS.put(typeDeclaration, entry);
+        }
+        return entry;
+    }
+
+    private static List<TypeParameter> typeParametersOf(TypeDeclaration typeDeclaration) {
+        if (typeDeclaration instanceof ClassOrInterfaceDeclaration) {
+            return ((ClassOrInterfaceDeclaration) typeDeclaration).getTypeParameters();
+        } else {
+            return null;
+        }
+    }
+
+    private static int size(List<?> list) {
+        return list == null ? 0 : list.size();
+    }
+
+    private static <N> List<WeakReference<N>> snapshot(List<N> nodes) {
+        List<WeakReference<N>> snapshot = new ArrayList<>(size(nodes));
+        for (int i = 0; i < size(nodes); i++) {
+            snapshot.add(new WeakReference<>(nodes.get(i)));
+        }
+        return snapshot;
+    }
+
+    private static <N> boolean isSame(List<WeakReference<N>> snapshot, List<N> nodes) {
+        if (snapshot.size() != size(nodes)) {
+            return false;
+        }
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (snapshot.get(i).get() != nodes.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class Entry {
+        private final WeakReference<List<BodyDeclaration>> members;
+        private final List<WeakReference<BodyDeclaration>> membersSnapshot;
+        private final WeakReference<List<TypeParameter>> typeParametersList;
+        private final List<WeakReference<TypeParameter>> typeParametersSnapshot;
+        // indexes in the members and in the type parameters, so that the table does not reference the type it
+        // describes
+        private final MethodTable<Integer> methods;
+        private final Map<String, Integer> fields = new HashMap<>();
+        private final Map<String, Integer> types = new HashMap<>();
+        private final Map<String, Integer> typeParameters = new HashMap<>();
+
+        Entry(List<BodyDeclaration> members, List<TypeParameter> typeParametersList) {
+            this.members = new WeakReference<>(members);
+            this.membersSnapshot = snapshot(members);
+            this.typeParametersList = new WeakReference<>(typeParametersList);
+            this.typeParametersSnapshot = snapshot(typeParametersList);
+            List<Integer> methods = new ArrayList<>();
+            for (int i = 0; i < size(members); i++) {
+                BodyDeclaration member = members.get(i);
+                if (member instanceof MethodDeclaration) {
+                    methods.add(i);
+                } else if (member instanceof FieldDeclaration) {
+                    for (VariableDeclarator variable : ((FieldDeclaration) member).getVariables()) {
+                        fields.putIfAbsent(variable.getId().getName(), i);
+                    }
+                } else if (member instanceof TypeDeclaration) {
+                    types.putIfAbsent(((TypeDeclaration) member).getName(), i);
+                }
+            }
+            this.methods = MethodTable.of(methods, (index) -> ((MethodDeclaration) members.get(index)).getName());
+            for (int i = 0; i < size(typeParametersList); i++) {
+                typeParameters.putIfAbsent(typeParametersList.get(i).getName(), i);
+            }
+        }
+
+        boolean isUpToDate(List<BodyDeclaration> members, List<TypeParameter> typeParametersList) {
+            return this.members.get() == members && isSame(membersSnapshot, members)
+                    && this.typeParametersList.get() == typeParametersList
+                    && isSame(typeParametersSnapshot, typeParametersList);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package me.tomassetti.symbolsolver.javaparsermodel;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.LambdaExpr;
+import me.tomassetti.symbolsolver.model.typesystem.TypeUsage;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Types calculated for the nodes of one AST.
+ *
+ * Nodes are compared by identity. The same lambda can be found as different node instances, so lambdas are also
+ * indexed by parent and position.
+ */
+class NodeTypeCache {
+
+    private Map<Node, TypeUsage> types = Collections.synchronizedMap(new IdentityHashMap<>());
+    private Map<Node, Map<LambdaPosition, TypeUsage>> lambdaTypesByParent = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * The type cached for exactly this node, or null.
+     */
+    TypeUsage get(Node node) {
+        return types.get(node);
+    }
+
+    /**
+     * The type cached for this node or, for lambdas, for an equivalent node.
+     */
+    Optional<TypeUsage> find(Node node) {
+        TypeUsage type = types.get(node);
+        if (type == null && node instanceof LambdaExpr && node.getParentNode() != null) {
+            Map<LambdaPosition, TypeUsage> lambdaTypes = lambdaTypesByParent.get(node.getParentNode());
+            if (lambdaTypes != null) {
+                type = lambdaTypes.get(new LambdaPosition((LambdaExpr) node));
+            }
+        }
+        return Optional.ofNullable(type);
+    }
+
+    void put(Node node, TypeUsage type) {
+        types.put(node, type);
+        if (node instanceof LambdaExpr && node.getParentNode() != null) {
+            lambdaTypesByParent.computeIfAbsent(node.getParentNode(), (parent) -> Collections.synchronizedMap(new HashMap<>()))
+                    .put(new LambdaPosition((LambdaExpr) node), type);
+        }
+    }
+
+    long size() {
+        return types.size();
+    }
+
+    static Node root(Node node) {
+        while (node.getParentNode() != null) {
+            node = node.getParentNode();
+        }
+        return node;
+    }
+
+    /**
+     * Identifies a lambda among the children of its parent. Nodes built without a position are told apart by
+     * their source.
+     */
+    private static class LambdaPosition {
+        private int beginLine;
+        private int beginColumn;
+        private int endLine;
+        private int endColumn;
+        private String source;
+
+        LambdaPosition(LambdaExpr lambdaExpr) {
+            this.beginLine = lambdaExpr.getBeginLine();
+            this.beginColumn = lambdaExpr.getBeginColumn();
+            this.endLine = lambdaExpr.getEndLine();
+            this.endColumn = lambdaExpr.getEndColumn();
+            this.source = beginLine > 0 ? null : lambdaExpr.toString();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            LambdaPosition that = (LambdaPosition) o;
+
+            if (beginLine != that.beginLine) return false;
+            if (beginColumn != that.beginColumn) return false;
+            if (endLine != that.endLine) return false;
+            if (endColumn != that.endColumn) return false;
+            return source == null ? that.source == null : source.equals(that.source);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = beginLine;
+            result = 31 * result + beginColumn;
+            result = 31 * result + endLine;
+            result = 31 * result + endColumn;
+            return result;
+        }
+    }
+}
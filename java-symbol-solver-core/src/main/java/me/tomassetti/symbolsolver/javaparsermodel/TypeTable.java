@@ -0,0 +1,84 @@
+package me.tomassetti.symbolsolver.javaparsermodel;
+
+import com.github.javaparser.ast.Node;
+import me.tomassetti.symbolsolver.model.typesystem.TypeUsage;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The types of all the expressions of an AST, as calculated by {@link JavaParserFacade#getTypes(Node)}.
+ *
+ * Expressions are listed in the order in which they were typed: children before their parents, siblings in source
+ * order. Nodes are compared by identity. The expressions which could not be typed are listed too, together with the
+ * exception thrown.
+ */
+public class TypeTable {
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final List<TypeUsage> types = new ArrayList<>();
+    private final List<RuntimeException> failures = new ArrayList<>();
+    private final Map<Node, Integer> positions = new IdentityHashMap<>();
+
+    void add(Node node, TypeUsage type) {
+        add(node, type, null);
+    }
+
+    void addFailure(Node node, RuntimeException failure) {
+        add(node, null, failure);
+    }
+
+    private void add(Node node, TypeUsage type, RuntimeException failure) {
+        positions.put(node, nodes.size());
+        nodes.add(node);
+        types.add(type);
+        failures.add(failure);
+    }
+
+    /**
+     * Number of expressions, typed or not.
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    public Node getNode(int i) {
+        return nodes.get(i);
+    }
+
+    /**
+     * The type of the i-th expression, or null if it could not be typed.
+     */
+    public TypeUsage getType(int i) {
+        return types.get(i);
+    }
+
+    /**
+     * The exception thrown typing the i-th expression, or null if it was typed.
+     */
+    public RuntimeException getFailure(int i) {
+        return failures.get(i);
+    }
+
+    public boolean contains(Node node) {
+        return positions.containsKey(node);
+    }
+
+    /**
+     * The type of the given expression, or null if it is not part of the table or it could not be typed.
+     */
+    public TypeUsage getType(Node node) {
+        Integer position = positions.get(node);
+        return position == null ? null : types.get(position);
+    }
+
+    /**
+     * The exception thrown typing the given expression, or null if it is not part of the table or it was typed.
+     */
+    public RuntimeException getFailure(Node node) {
+        Integer position = positions.get(node);
+        return position == null ? null : failures.get(position);
+    }
+}
@@ -21,6 +21,8 @@ public abstract class AbstractJavaParserContext<N extends Node> implements Conte
 
     protected N wrappedNode;
     protected TypeSolver typeSolver;
+    private volatile Context parent;
+    private volatile boolean parentCalculated;
 
     public AbstractJavaParserContext(N wrappedNode, TypeSolver typeSolver) {
         if (wrappedNode == null) {
@@ -75,8 +77,19 @@ public abstract class AbstractJavaParserContext<N extends Node> implements Conte
         return Optional.empty();
     }
 
+    /**
+     * The parent is calculated at the first call, assuming the AST is not modified afterwards.
+     */
     @Override
     public final Context getParent() {
+        if (!parentCalculated) {
+            parent = calculateParent();
+            parentCalculated = true;
+        }
+        return parent;
+    }
+
+    private Context calculateParent() {
         if (wrappedNode.getParentNode() instanceof MethodCallExpr) {
             MethodCallExpr parentCall = (MethodCallExpr) wrappedNode.getParentNode();
             boolean found = false;
@@ -0,0 +1,77 @@
+package me.tomassetti.symbolsolver.javaparsermodel.contexts;
+
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.stmt.Statement;
+import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFactory;
+import me.tomassetti.symbolsolver.model.declarations.ValueDeclaration;
+import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the local symbols declared by the statements of a block: the position of each statement and, for
+ * each name, the positions of the statements declaring it.
+ *
+ * It is built once per block, so finding the declaration of a local symbol visible from a statement is a hash
+ * lookup and a search among the few statements declaring that name, instead of a scan of all the preceding
+ * statements.
+ */
+class BlockScope {
+
+    private final List<Statement> stmts;
+    private final int size;
+    private final Map<Statement, Integer> positions = new IdentityHashMap<>();
+    private final Map<String, List<Integer>> declaringPositions = new HashMap<>();
+
+    BlockScope(BlockStmt blockStmt, TypeSolver typeSolver) {
+        this.stmts = stmts(blockStmt);
+        this.size = stmts.size();
+        for (int i = 0; i < size; i++) {
+            Statement stmt = stmts.get(i);
+            positions.put(stmt, i);
+            for (ValueDeclaration decl : JavaParserFactory.getSymbolDeclarator(stmt, typeSolver).getSymbolDeclarations()) {
+                List<Integer> declaring = declaringPositions.computeIfAbsent(decl.getName(), (name) -> new ArrayList<>(1));
+                if (declaring.isEmpty() || declaring.get(declaring.size() - 1) != i) {
+                    declaring.add(i);
+                }
+            }
+        }
+    }
+
+    private static List<Statement> stmts(BlockStmt blockStmt) {
+        return blockStmt.getStmts() == null ? Collections.emptyList() : blockStmt.getStmts();
+    }
+
+    /**
+     * Is the index still valid for the given block? It has to be rebuilt if statements were added or removed.
+     */
+    boolean isUpToDate(BlockStmt blockStmt) {
+        List<Statement> current = stmts(blockStmt);
+        return current == stmts && current.size() == size;
+    }
+
+    /**
+     * The last statement preceding stmt which declares a symbol with the given name, or null.
+     */
+    Statement findDeclaringStatement(Statement stmt, String name) {
+        Integer position = positions.get(stmt);
+        if (position == null) {
+            throw new IllegalArgumentException("The statement is not part of the block");
+        }
+        List<Integer> declaring = declaringPositions.get(name);
+        if (declaring == null) {
+            return null;
+        }
+        for (int i = declaring.size() - 1; i >= 0; i--) {
+            if (declaring.get(i) < position) {
+                return stmts.get(declaring.get(i));
+            }
+        }
+        return null;
+    }
+}
@@ -1,24 +1,22 @@
 package me.tomassetti.symbolsolver.javaparsermodel.contexts;
 
-import com.github.javaparser.ast.body.BodyDeclaration;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
-import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
 import me.tomassetti.symbolsolver.resolution.MethodResolutionLogic;
 import me.tomassetti.symbolsolver.model.declarations.MethodDeclaration;
 import me.tomassetti.symbolsolver.model.declarations.TypeDeclaration;
 import me.tomassetti.symbolsolver.model.declarations.ValueDeclaration;
 import me.tomassetti.symbolsolver.model.typesystem.TypeParameterUsage;
 import me.tomassetti.symbolsolver.model.typesystem.TypeUsage;
-import me.tomassetti.symbolsolver.resolution.SymbolDeclarator;
 import me.tomassetti.symbolsolver.model.resolution.SymbolReference;
 import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
 import me.tomassetti.symbolsolver.model.resolution.Value;
-import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFactory;
+import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFacade;
+import me.tomassetti.symbolsolver.javaparsermodel.JavaParserMemberTables;
 import me.tomassetti.symbolsolver.javaparsermodel.UnsolvedSymbolException;
 import me.tomassetti.symbolsolver.javaparsermodel.UnsolvedTypeException;
-import me.tomassetti.symbolsolver.javaparsermodel.declarations.JavaParserClassDeclaration;
-import me.tomassetti.symbolsolver.javaparsermodel.declarations.JavaParserInterfaceDeclaration;
 import me.tomassetti.symbolsolver.javaparsermodel.declarations.JavaParserMethodDeclaration;
+import me.tomassetti.symbolsolver.javaparsermodel.declarations.JavaParserSymbolDeclaration;
 import me.tomassetti.symbolsolver.javaparsermodel.declarations.JavaParserTypeParameter;
 
 import java.util.ArrayList;
@@ -39,14 +37,9 @@ public class ClassOrInterfaceDeclarationContext extends AbstractJavaParserContex
         if (typeSolver == null) throw new IllegalArgumentException();
 
         // first among declared fields
-        for (BodyDeclaration member : wrappedNode.getMembers()) {
-            if (member instanceof FieldDeclaration) {
-                SymbolDeclarator symbolDeclarator = JavaParserFactory.getSymbolDeclarator(member, typeSolver);
-                SymbolReference ref = solveWith(symbolDeclarator, name);
-                if (ref.isSolved()) {
-                    return ref;
-                }
-            }
+        Optional<VariableDeclarator> field = JavaParserMemberTables.declaredField(wrappedNode, name);
+        if (field.isPresent()) {
+            return SymbolReference.solved(JavaParserSymbolDeclaration.field(field.get(), typeSolver));
         }
 
         // then among inherited fields
@@ -71,14 +64,9 @@ public class ClassOrInterfaceDeclarationContext extends AbstractJavaParserContex
         if (typeSolver == null) throw new IllegalArgumentException();
 
         // first among declared fields
-        for (BodyDeclaration member : wrappedNode.getMembers()) {
-            if (member instanceof FieldDeclaration) {
-                SymbolDeclarator symbolDeclarator = JavaParserFactory.getSymbolDeclarator(member, typeSolver);
-                Optional<Value> ref = solveWithAsValue(symbolDeclarator, name, typeSolver);
-                if (ref.isPresent()) {
-                    return ref;
-                }
-            }
+        Optional<VariableDeclarator> field = JavaParserMemberTables.declaredField(wrappedNode, name);
+        if (field.isPresent()) {
+            return Optional.of(Value.from(JavaParserSymbolDeclaration.field(field.get(), typeSolver), typeSolver));
         }
 
         // then among inherited fields
@@ -100,10 +88,9 @@ public class ClassOrInterfaceDeclarationContext extends AbstractJavaParserContex
 
     @Override
     public Optional<TypeUsage> solveGenericType(String name, TypeSolver typeSolver) {
-        for (com.github.javaparser.ast.TypeParameter tp : wrappedNode.getTypeParameters()) {
-            if (tp.getName().equals(name)) {
-                return Optional.of(new TypeParameterUsage(new JavaParserTypeParameter(tp, typeSolver)));
-            }
+        Optional<com.github.javaparser.ast.TypeParameter> tp = JavaParserMemberTables.declaredTypeParameter(wrappedNode, name);
+        if (tp.isPresent()) {
+            return Optional.of(new TypeParameterUsage(new JavaParserTypeParameter(tp.get(), typeSolver)));
         }
         return getParent().solveGenericType(name, typeSolver);
     }
@@ -118,22 +105,13 @@ public class ClassOrInterfaceDeclarationContext extends AbstractJavaParserContex
     }
 
     private TypeDeclaration getDeclaration() {
-        if (this.wrappedNode.isInterface()) {
-            return new JavaParserInterfaceDeclaration(this.wrappedNode, typeSolver);
-        } else {
-            return new JavaParserClassDeclaration(this.wrappedNode, typeSolver);
-        }
+        return JavaParserFacade.get(typeSolver).getTypeDeclaration(this.wrappedNode);
     }
 
     public List<MethodDeclaration> methodsByName(String name) {
         List<MethodDeclaration> candidateMethods = new ArrayList<>();
-        for (BodyDeclaration member : this.wrappedNode.getMembers()) {
-            if (member instanceof com.github.javaparser.ast.body.MethodDeclaration) {
-                com.github.javaparser.ast.body.MethodDeclaration method = (com.github.javaparser.ast.body.MethodDeclaration) member;
-                if (method.getName().equals(name)) {
-                    candidateMethods.add(new JavaParserMethodDeclaration(method, typeSolver));
-                }
-            }
+        for (com.github.javaparser.ast.body.MethodDeclaration method : JavaParserMemberTables.declaredMethods(wrappedNode, name)) {
+            candidateMethods.add(new JavaParserMethodDeclaration(method, typeSolver));
         }
         return candidateMethods;
     }
@@ -1,23 +1,23 @@
 package me.tomassetti.symbolsolver.javaparsermodel.contexts;
 
 import com.github.javaparser.ast.CompilationUnit;
-import com.github.javaparser.ast.ImportDeclaration;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.TypeDeclaration;
-import com.github.javaparser.ast.expr.QualifiedNameExpr;
+import me.tomassetti.symbolsolver.javaparsermodel.DependencyTracker;
+import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFacade;
 import me.tomassetti.symbolsolver.model.declarations.MethodDeclaration;
 import me.tomassetti.symbolsolver.model.declarations.ValueDeclaration;
 import me.tomassetti.symbolsolver.model.resolution.SymbolReference;
 import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
 import me.tomassetti.symbolsolver.model.typesystem.TypeUsage;
-import me.tomassetti.symbolsolver.javaparsermodel.declarations.JavaParserClassDeclaration;
-import me.tomassetti.symbolsolver.javaparsermodel.declarations.JavaParserInterfaceDeclaration;
 
 import java.util.List;
 
 
 public class CompilationUnitContext extends AbstractJavaParserContext<CompilationUnit> {
 
+    private volatile ImportTable importTable;
+
     public CompilationUnitContext(CompilationUnit wrappedNode, TypeSolver typeSolver) {
         super(wrappedNode, typeSolver);
     }
@@ -43,36 +43,11 @@ public class CompilationUnitContext extends AbstractJavaParserContext<Compilatio
         }
 
         // Look among statically imported values
-        if (wrappedNode.getImports() != null) {
-            for (ImportDeclaration importDecl : wrappedNode.getImports()) {
-                if (importDecl.isStatic()) {
-                    if (importDecl.isAsterisk()) {
-                        if (importDecl.getName() instanceof QualifiedNameExpr) {
-                            String qName = importDecl.getName().toString();
-                            me.tomassetti.symbolsolver.model.declarations.TypeDeclaration importedType = typeSolver.solveType(qName);
-                            SymbolReference<? extends ValueDeclaration> ref = importedType.solveSymbol(name, typeSolver);
-                            if (ref.isSolved()) {
-                                return ref;
-                            }
-                        } else {
-                            throw new UnsupportedOperationException("B");
-                        }
-                    } else {
-                        if (importDecl.getName() instanceof QualifiedNameExpr) {
-                            String qName = importDecl.getName().toString();
-                            // split in field/method name and type name
-                            String typeName = getType(qName);
-                            String memberName = getMember(qName);
-
-                            if (memberName.equals(name)) {
-                                me.tomassetti.symbolsolver.model.declarations.TypeDeclaration importedType = typeSolver.solveType(typeName);
-                                return importedType.solveSymbol(memberName, typeSolver);
-                            }
-                        } else {
-                            throw new UnsupportedOperationException("C");
-                        }
-                    }
-                }
+        for (ImportTable.StaticImport staticImport : getImportTable().getStaticImports(name)) {
+            me.tomassetti.symbolsolver.model.declarations.TypeDeclaration importedType = typeSolver.solveType(staticImport.getTypeName());
+            SymbolReference<? extends ValueDeclaration> ref = importedType.solveSymbol(name, typeSolver);
+            if (ref.isSolved() || !staticImport.isAsterisk()) {
+                return ref;
             }
         }
 
@@ -99,15 +74,30 @@ public class CompilationUnitContext extends AbstractJavaParserContext<Compilatio
 
     @Override
     public SymbolReference<me.tomassetti.symbolsolver.model.declarations.TypeDeclaration> solveType(String name, TypeSolver typeSolver) {
+        ImportTable importTable = getImportTable();
+        if (typeSolver != this.typeSolver) {
+            return solveTypeUncached(importTable, name, typeSolver);
+        }
+        SymbolReference<me.tomassetti.symbolsolver.model.declarations.TypeDeclaration> ref = importTable.getResolvedType(name);
+        if (ref == null) {
+            ref = solveTypeUncached(importTable, name, typeSolver);
+            // unsolved names are not remembered: the type solver could be able to solve them later on
+            if (ref.isSolved()) {
+                importTable.putResolvedType(name, ref);
+            }
+        } else {
+            // the type comes from the memo: record the declaration as used anyway
+            DependencyTracker.recordUse(ref.getCorrespondingDeclaration());
+        }
+        return ref;
+    }
+
+    private SymbolReference<me.tomassetti.symbolsolver.model.declarations.TypeDeclaration> solveTypeUncached(ImportTable importTable, String name, TypeSolver typeSolver) {
         if (wrappedNode.getTypes() != null) {
             for (TypeDeclaration type : wrappedNode.getTypes()) {
                 if (type.getName().equals(name)) {
                     if (type instanceof ClassOrInterfaceDeclaration) {
-                        if (((ClassOrInterfaceDeclaration) type).isInterface()) {
-                            return SymbolReference.solved(new JavaParserInterfaceDeclaration((ClassOrInterfaceDeclaration) type, typeSolver));
-                        } else {
-                            return SymbolReference.solved(new JavaParserClassDeclaration((ClassOrInterfaceDeclaration) type, typeSolver));
-                        }
+                        return SymbolReference.solved(JavaParserFacade.get(typeSolver).getTypeDeclaration((ClassOrInterfaceDeclaration) type));
                     } else {
                         throw new UnsupportedOperationException();
                     }
@@ -115,29 +105,17 @@ public class CompilationUnitContext extends AbstractJavaParserContext<Compilatio
             }
         }
 
-        if (wrappedNode.getImports() != null) {
-            for (ImportDeclaration importDecl : wrappedNode.getImports()) {
-                if (!importDecl.isStatic()) {
-                    if (!importDecl.isAsterisk()) {
-                        if (importDecl.getName() instanceof QualifiedNameExpr) {
-                            String qName = importDecl.getName().toString();
-                            if (qName.equals(name) || qName.endsWith("." + name)) {
-                                SymbolReference<me.tomassetti.symbolsolver.model.declarations.TypeDeclaration> ref = typeSolver.tryToSolveType(qName);
-                                if (ref.isSolved()) {
-                                    return ref;
-                                }
-                            }
-                        } else {
-                            throw new UnsupportedOperationException();
-                        }
-                    } else {
-                        String qName = importDecl.getName().toString() + "." + name;
-                        SymbolReference<me.tomassetti.symbolsolver.model.declarations.TypeDeclaration> ref = typeSolver.tryToSolveType(qName);
-                        if (ref.isSolved()) {
-                            return ref;
-                        }
-                    }
-                }
+        // Single-type imports shadow the ones on demand
+        for (String qName : importTable.getSingleTypeImports(name)) {
+            SymbolReference<me.tomassetti.symbolsolver.model.declarations.TypeDeclaration> ref = typeSolver.tryToSolveType(qName);
+            if (ref.isSolved()) {
+                return ref;
+            }
+        }
+        for (String packageName : importTable.getOnDemandPackages()) {
+            SymbolReference<me.tomassetti.symbolsolver.model.declarations.TypeDeclaration> ref = typeSolver.tryToSolveType(packageName + "." + name);
+            if (ref.isSolved()) {
+                return ref;
             }
         }
 
@@ -166,38 +144,22 @@ public class CompilationUnitContext extends AbstractJavaParserContext<Compilatio
 
     @Override
     public SymbolReference<MethodDeclaration> solveMethod(String name, List<TypeUsage> parameterTypes, TypeSolver typeSolver) {
-        if (wrappedNode.getImports() != null) {
-            for (ImportDeclaration importDecl : wrappedNode.getImports()) {
-                if (importDecl.isStatic()) {
-                    if (importDecl.isAsterisk()) {
-                        if (importDecl.getName() instanceof QualifiedNameExpr) {
-                            String qName = importDecl.getName().toString();
-                            me.tomassetti.symbolsolver.model.declarations.TypeDeclaration ref = typeSolver.solveType(qName);
-                            SymbolReference<MethodDeclaration> method = ref.solveMethod(name, parameterTypes);
-                            if (method.isSolved()) {
-                                return method;
-                            }
-                        } else {
-                            throw new UnsupportedOperationException();
-                        }
-                    } else {
-                        if (importDecl.getName() instanceof QualifiedNameExpr) {
-                            String qName = importDecl.getName().toString();
-                            if (qName.equals(name) || qName.endsWith("." + name)) {
-                                String typeName = getType(qName);
-                                me.tomassetti.symbolsolver.model.declarations.TypeDeclaration ref = typeSolver.solveType(typeName);
-                                SymbolReference<MethodDeclaration> method = ref.solveMethod(name, parameterTypes);
-                                if (method.isSolved()) {
-                                    return method;
-                                }
-                            }
-                        } else {
-                            throw new UnsupportedOperationException();
-                        }
-                    }
-                }
+        for (ImportTable.StaticImport staticImport : getImportTable().getStaticImports(name)) {
+            me.tomassetti.symbolsolver.model.declarations.TypeDeclaration ref = typeSolver.solveType(staticImport.getTypeName());
+            SymbolReference<MethodDeclaration> method = ref.solveMethod(name, parameterTypes);
+            if (method.isSolved()) {
+                return method;
             }
         }
         return SymbolReference.unsolved(MethodDeclaration.class);
     }
+
+    private ImportTable getImportTable() {
+        ImportTable table = importTable;
+        if (table == null || !table.isUpToDate(wrappedNode)) {
+            table = new ImportTable(wrappedNode);
+            importTable = table;
+        }
+        return table;
+    }
 }
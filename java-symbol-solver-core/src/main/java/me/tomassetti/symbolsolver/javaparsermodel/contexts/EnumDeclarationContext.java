@@ -6,15 +6,15 @@ import me.tomassetti.symbolsolver.model.declarations.ValueDeclaration;
 import me.tomassetti.symbolsolver.model.resolution.SymbolReference;
 import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
 import me.tomassetti.symbolsolver.model.typesystem.TypeUsage;
-import me.tomassetti.symbolsolver.resolution.SymbolDeclarator;
-import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFactory;
-import me.tomassetti.symbolsolver.javaparsermodel.declarations.JavaParserClassDeclaration;
+import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFacade;
+import me.tomassetti.symbolsolver.javaparsermodel.JavaParserMemberTables;
 import me.tomassetti.symbolsolver.javaparsermodel.declarations.JavaParserEnumConstantDeclaration;
-import me.tomassetti.symbolsolver.javaparsermodel.declarations.JavaParserEnumDeclaration;
 import me.tomassetti.symbolsolver.javaparsermodel.declarations.JavaParserMethodDeclaration;
+import me.tomassetti.symbolsolver.javaparsermodel.declarations.JavaParserSymbolDeclaration;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * @author Federico Tomassetti
@@ -37,14 +37,9 @@ public class EnumDeclarationContext extends AbstractJavaParserContext<EnumDeclar
         }
 
         // among declared fields
-        for (BodyDeclaration member : wrappedNode.getMembers()) {
-            if (member instanceof FieldDeclaration) {
-                SymbolDeclarator symbolDeclarator = JavaParserFactory.getSymbolDeclarator(member, typeSolver);
-                SymbolReference ref = solveWith(symbolDeclarator, name);
-                if (ref.isSolved()) {
-                    return ref;
-                }
-            }
+        Optional<VariableDeclarator> field = JavaParserMemberTables.declaredField(wrappedNode, name);
+        if (field.isPresent()) {
+            return SymbolReference.solved(JavaParserSymbolDeclaration.field(field.get(), typeSolver));
         }
 
         // then to parent
@@ -54,20 +49,16 @@ public class EnumDeclarationContext extends AbstractJavaParserContext<EnumDeclar
     @Override
     public SymbolReference<me.tomassetti.symbolsolver.model.declarations.TypeDeclaration> solveType(String name, TypeSolver typeSolver) {
         if (this.wrappedNode.getName().equals(name)) {
-            return SymbolReference.solved(new JavaParserEnumDeclaration(this.wrappedNode, typeSolver));
+            return SymbolReference.solved(JavaParserFacade.get(typeSolver).getTypeDeclaration(this.wrappedNode));
         }
 
         // Internal classes
-        for (BodyDeclaration member : this.wrappedNode.getMembers()) {
-            if (member instanceof com.github.javaparser.ast.body.TypeDeclaration) {
-                com.github.javaparser.ast.body.TypeDeclaration internalType = (com.github.javaparser.ast.body.TypeDeclaration) member;
-                if (internalType.getName().equals(name)) {
-                    if (internalType instanceof ClassOrInterfaceDeclaration) {
-                        return SymbolReference.solved(new JavaParserClassDeclaration((ClassOrInterfaceDeclaration) internalType, typeSolver));
-                    } else {
-                        throw new UnsupportedOperationException();
-                    }
-                }
+        Optional<com.github.javaparser.ast.body.TypeDeclaration> internalType = JavaParserMemberTables.declaredType(wrappedNode, name);
+        if (internalType.isPresent()) {
+            if (internalType.get() instanceof ClassOrInterfaceDeclaration) {
+                return SymbolReference.solved(JavaParserFacade.get(typeSolver).getTypeDeclaration((ClassOrInterfaceDeclaration) internalType.get()));
+            } else {
+                throw new UnsupportedOperationException();
             }
         }
 
@@ -77,13 +68,8 @@ public class EnumDeclarationContext extends AbstractJavaParserContext<EnumDeclar
     @Override
     public SymbolReference<me.tomassetti.symbolsolver.model.declarations.MethodDeclaration> solveMethod(String name, List<TypeUsage> parameterTypes, TypeSolver typeSolver) {
         List<me.tomassetti.symbolsolver.model.declarations.MethodDeclaration> candidateMethods = new ArrayList<>();
-        for (BodyDeclaration member : this.wrappedNode.getMembers()) {
-            if (member instanceof com.github.javaparser.ast.body.MethodDeclaration) {
-                com.github.javaparser.ast.body.MethodDeclaration method = (com.github.javaparser.ast.body.MethodDeclaration) member;
-                if (method.getName().equals(name)) {
-                    candidateMethods.add(new JavaParserMethodDeclaration(method, typeSolver));
-                }
-            }
+        for (MethodDeclaration method : JavaParserMemberTables.declaredMethods(wrappedNode, name)) {
+            candidateMethods.add(new JavaParserMethodDeclaration(method, typeSolver));
         }
         // TODO consider inherited methods
         return MethodResolutionLogic.findMostApplicable(candidateMethods, name, parameterTypes, typeSolver);
@@ -0,0 +1,189 @@
+package me.tomassetti.symbolsolver.javaparsermodel.contexts;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.expr.QualifiedNameExpr;
+import me.tomassetti.symbolsolver.model.resolution.SymbolReference;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the imports of a compilation unit: single-type imports by simple name, the packages imported on
+ * demand, and the static imports by member name.
+ *
+ * It is built once per compilation unit and it also memoizes the types already resolved from it, so that a
+ * simple name is not looked up again in every imported package.
+ */
+class ImportTable {
+
+    /**
+     * A static import: a single member of a type or, when memberName is null, all the members of the type.
+     */
+    static class StaticImport {
+        private final int position;
+        private final String typeName;
+        private final String memberName;
+
+        private StaticImport(int position, String typeName, String memberName) {
+            this.position = position;
+            this.typeName = typeName;
+            this.memberName = memberName;
+        }
+
+        String getTypeName() {
+            return typeName;
+        }
+
+        String getMemberName() {
+            return memberName;
+        }
+
+        boolean isAsterisk() {
+            return memberName == null;
+        }
+    }
+
+    private final List<ImportDeclaration> imports;
+    private final int importsCount;
+    private final List<TypeDeclaration> types;
+    private final int typesCount;
+
+    private final Map<String, List<String>> singleTypeImports = new HashMap<>();
+    private final List<String> onDemandPackages = new ArrayList<>();
+    private final Map<String, List<StaticImport>> staticSingleImports = new HashMap<>();
+    private final List<StaticImport> staticOnDemandImports = new ArrayList<>();
+    private boolean unqualifiedTypeImport;
+    private boolean unqualifiedStaticImport;
+
+    private final Map<String, SymbolReference<me.tomassetti.symbolsolver.model.declarations.TypeDeclaration>> resolvedTypes = new ConcurrentHashMap<>();
+
+    ImportTable(CompilationUnit cu) {
+        this.imports = imports(cu);
+        this.importsCount = imports.size();
+        this.types = types(cu);
+        this.typesCount = types.size();
+        for (int i = 0; i < importsCount; i++) {
+            ImportDeclaration importDecl = imports.get(i);
+            String qName = importDecl.getName().toString();
+            boolean qualified = importDecl.getName() instanceof QualifiedNameExpr;
+            if (importDecl.isStatic()) {
+                if (!qualified) {
+                    unqualifiedStaticImport = true;
+                } else if (importDecl.isAsterisk()) {
+                    staticOnDemandImports.add(new StaticImport(i, qName, null));
+                } else {
+                    StaticImport staticImport = new StaticImport(i, typeName(qName), simpleName(qName));
+                    staticSingleImports.computeIfAbsent(staticImport.getMemberName(), (name) -> new ArrayList<>(1)).add(staticImport);
+                }
+            } else {
+                if (importDecl.isAsterisk()) {
+                    onDemandPackages.add(qName);
+                } else if (!qualified) {
+                    unqualifiedTypeImport = true;
+                } else {
+                    singleTypeImports.computeIfAbsent(simpleName(qName), (name) -> new ArrayList<>(1)).add(qName);
+                }
+            }
+        }
+    }
+
+    private static List<ImportDeclaration> imports(CompilationUnit cu) {
+        return cu.getImports() == null ? Collections.emptyList() : cu.getImports();
+    }
+
+    private static List<TypeDeclaration> types(CompilationUnit cu) {
+        return cu.getTypes() == null ? Collections.emptyList() : cu.getTypes();
+    }
+
+    private static String typeName(String qName) {
+        return qName.substring(0, qName.lastIndexOf('.'));
+    }
+
+    private static String simpleName(String qName) {
+        return qName.substring(qName.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Is the index still valid for the given compilation unit? It has to be rebuilt if imports or types were
+     * added or removed.
+     */
+    boolean isUpToDate(CompilationUnit cu) {
+        List<ImportDeclaration> currentImports = imports(cu);
+        List<TypeDeclaration> currentTypes = types(cu);
+        return currentImports == imports && currentImports.size() == importsCount
+                && currentTypes == types && currentTypes.size() == typesCount;
+    }
+
+    /**
+     * The qualified names of the single-type imports matching the given name, which can be simple or qualified
+     * (e.g., "Map.Entry" matches "import java.util.Map.Entry").
+     */
+    List<String> getSingleTypeImports(String name) {
+        if (unqualifiedTypeImport) {
+            throw new UnsupportedOperationException();
+        }
+        List<String> candidates = singleTypeImports.get(simpleName(name));
+        if (candidates == null) {
+            return Collections.emptyList();
+        }
+        if (name.indexOf('.') == -1) {
+            return candidates;
+        }
+        List<String> matching = new ArrayList<>(1);
+        for (String qName : candidates) {
+            if (qName.equals(name) || qName.endsWith("." + name)) {
+                matching.add(qName);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * The packages (or types) imported on demand, in declaration order.
+     */
+    List<String> getOnDemandPackages() {
+        return onDemandPackages;
+    }
+
+    /**
+     * The static imports which could provide a member with the given name, in declaration order.
+     */
+    List<StaticImport> getStaticImports(String memberName) {
+        if (unqualifiedStaticImport) {
+            throw new UnsupportedOperationException();
+        }
+        List<StaticImport> single = staticSingleImports.getOrDefault(memberName, Collections.emptyList());
+        if (staticOnDemandImports.isEmpty()) {
+            return single;
+        }
+        if (single.isEmpty()) {
+            return staticOnDemandImports;
+        }
+        List<StaticImport> merged = new ArrayList<>(single.size() + staticOnDemandImports.size());
+        int i = 0;
+        int j = 0;
+        while (i < single.size() || j < staticOnDemandImports.size()) {
+            if (j == staticOnDemandImports.size()
+                    || (i < single.size() && single.get(i).position < staticOnDemandImports.get(j).position)) {
+                merged.add(single.get(i++));
+            } else {
+                merged.add(staticOnDemandImports.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    SymbolReference<me.tomassetti.symbolsolver.model.declarations.TypeDeclaration> getResolvedType(String name) {
+        return resolvedTypes.get(name);
+    }
+
+    void putResolvedType(String name, SymbolReference<me.tomassetti.symbolsolver.model.declarations.TypeDeclaration> ref) {
+        resolvedTypes.put(name, ref);
+    }
+}
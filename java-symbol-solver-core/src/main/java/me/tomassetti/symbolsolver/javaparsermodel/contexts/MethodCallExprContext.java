@@ -10,9 +10,10 @@ import me.tomassetti.symbolsolver.model.declarations.ValueDeclaration;
 import me.tomassetti.symbolsolver.model.invokations.MethodUsage;
 import me.tomassetti.symbolsolver.model.resolution.*;
 import me.tomassetti.symbolsolver.model.typesystem.*;
+import me.tomassetti.symbolsolver.javaparsermodel.DependencyTracker;
 import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFacade;
 import me.tomassetti.symbolsolver.javaparsermodel.UnsolvedSymbolException;
-import me.tomassetti.symbolsolver.reflectionmodel.ReflectionClassDeclaration;
+import me.tomassetti.symbolsolver.reflectionmodel.ReflectionFactory;
 
 import java.util.HashMap;
 import java.util.List;
@@ -208,14 +209,25 @@ public class MethodCallExprContext extends AbstractJavaParserContext<MethodCallE
                 if (typeOfScope.asWildcard().isExtends() || typeOfScope.asWildcard().isSuper()) {
                     return typeOfScope.asWildcard().getBoundedType().asReferenceTypeUsage().solveMethod(name, parameterTypes);
                 } else {
-                    return new ReferenceTypeUsageImpl(new ReflectionClassDeclaration(Object.class, typeSolver), typeSolver).solveMethod(name, parameterTypes);
+                    return ReflectionFactory.objectTypeUsage(typeSolver).solveMethod(name, parameterTypes);
                 }
             } else {
-                return typeOfScope.asReferenceTypeUsage().solveMethod(name, parameterTypes);
+                return solveMethod(typeOfScope.asReferenceTypeUsage(), name, parameterTypes, typeSolver);
             }
         } else {
             TypeUsage typeOfScope = JavaParserFacade.get(typeSolver).getTypeOfThisIn(wrappedNode);
-            return typeOfScope.asReferenceTypeUsage().solveMethod(name, parameterTypes);
+            return solveMethod(typeOfScope.asReferenceTypeUsage(), name, parameterTypes, typeSolver);
         }
     }
+
+    private SymbolReference<MethodDeclaration> solveMethod(ReferenceTypeUsage refType, String name, List<TypeUsage> parameterTypes,
+                                                           TypeSolver typeSolver) {
+        SymbolReference<MethodDeclaration> ref = JavaParserFacade.get(typeSolver).getMethodResolutionCache().getDeclaration(refType, name, parameterTypes,
+                () -> refType.solveMethod(name, parameterTypes));
+        // the resolution could come from the cache: record the method as used anyway
+        if (ref.isSolved()) {
+            DependencyTracker.recordUse(ref.getCorrespondingDeclaration());
+        }
+        return ref;
+    }
 }
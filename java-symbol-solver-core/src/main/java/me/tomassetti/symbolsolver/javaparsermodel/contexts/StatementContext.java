@@ -20,6 +20,8 @@ import java.util.Optional;
 
 public class StatementContext<N extends Statement> extends AbstractJavaParserContext<N> {
 
+    private volatile BlockScope blockScope;
+
     public StatementContext(N wrappedNode, TypeSolver typeSolver) {
         super(wrappedNode, typeSolver);
     }
@@ -28,28 +30,37 @@ public class StatementContext<N extends Statement> extends AbstractJavaParserCon
         if (!(stmt.getParentNode() instanceof BlockStmt)) {
             throw new IllegalArgumentException();
         }
-        BlockStmt blockStmt = (BlockStmt) stmt.getParentNode();
-        int position = -1;
-        for (int i = 0; i < blockStmt.getStmts().size(); i++) {
-            if (blockStmt.getStmts().get(i).equals(stmt)) {
-                position = i;
-            }
-        }
-        if (position == -1) {
-            throw new RuntimeException();
-        }
-        for (int i = position - 1; i >= 0; i--) {
-            SymbolDeclarator symbolDeclarator = JavaParserFactory.getSymbolDeclarator(blockStmt.getStmts().get(i), typeSolver);
-            SymbolReference symbolReference = solveWith(symbolDeclarator, name);
-            if (symbolReference.isSolved()) {
-                return symbolReference;
-            }
+        Statement declaringStmt = findDeclaringStatement(name, typeSolver, stmt);
+        if (declaringStmt != null) {
+            return solveWith(JavaParserFactory.getSymbolDeclarator(declaringStmt, typeSolver), name);
         }
 
         // if nothing is found we should ask the parent context
         return JavaParserFactory.getContext(stmt.getParentNode(), typeSolver).solveSymbol(name, typeSolver);
     }
 
+    /**
+     * Find the last statement preceding stmt, in its block, which declares the given name.
+     */
+    private static Statement findDeclaringStatement(String name, TypeSolver typeSolver, Statement stmt) {
+        BlockStmt blockStmt = (BlockStmt) stmt.getParentNode();
+        StatementContext<?> blockContext = (StatementContext<?>) JavaParserFactory.getContext(blockStmt, typeSolver);
+        return blockContext.getBlockScope().findDeclaringStatement(stmt, name);
+    }
+
+    /**
+     * The index of the symbols declared in the block wrapped by this context.
+     */
+    private BlockScope getBlockScope() {
+        BlockStmt blockStmt = (BlockStmt) wrappedNode;
+        BlockScope blockScope = this.blockScope;
+        if (blockScope == null || !blockScope.isUpToDate(blockStmt)) {
+            blockScope = new BlockScope(blockStmt, typeSolver);
+            this.blockScope = blockScope;
+        }
+        return blockScope;
+    }
+
     @Override
     public Optional<Value> solveSymbolAsValue(String name, TypeSolver typeSolver) {
         // we should look in all the statements preceding, treating them as SymbolDeclarators
@@ -65,22 +76,9 @@ public class StatementContext<N extends Statement> extends AbstractJavaParserCon
         if (!(wrappedNode.getParentNode() instanceof BlockStmt)) {
             return getParent().solveSymbolAsValue(name, typeSolver);
         }
-        BlockStmt blockStmt = (BlockStmt) wrappedNode.getParentNode();
-        int position = -1;
-        for (int i = 0; i < blockStmt.getStmts().size(); i++) {
-            if (blockStmt.getStmts().get(i).equals(wrappedNode)) {
-                position = i;
-            }
-        }
-        if (position == -1) {
-            throw new RuntimeException();
-        }
-        for (int i = position - 1; i >= 0; i--) {
-            SymbolDeclarator symbolDeclarator = JavaParserFactory.getSymbolDeclarator(blockStmt.getStmts().get(i), typeSolver);
-            Optional<Value> symbolReference = solveWithAsValue(symbolDeclarator, name, typeSolver);
-            if (symbolReference.isPresent()) {
-                return symbolReference;
-            }
+        Statement declaringStmt = findDeclaringStatement(name, typeSolver, wrappedNode);
+        if (declaringStmt != null) {
+            return solveWithAsValue(JavaParserFactory.getSymbolDeclarator(declaringStmt, typeSolver), name, typeSolver);
         }
 
         // if nothing is found we should ask the parent context
@@ -103,22 +101,9 @@ public class StatementContext<N extends Statement> extends AbstractJavaParserCon
         if (!(wrappedNode.getParentNode() instanceof BlockStmt)) {
             return getParent().solveSymbol(name, typeSolver);
         }
-        BlockStmt blockStmt = (BlockStmt) wrappedNode.getParentNode();
-        int position = -1;
-        for (int i = 0; i < blockStmt.getStmts().size(); i++) {
-            if (blockStmt.getStmts().get(i).equals(wrappedNode)) {
-                position = i;
-            }
-        }
-        if (position == -1) {
-            throw new RuntimeException();
-        }
-        for (int i = position - 1; i >= 0; i--) {
-            SymbolDeclarator symbolDeclarator = JavaParserFactory.getSymbolDeclarator(blockStmt.getStmts().get(i), typeSolver);
-            SymbolReference symbolReference = solveWith(symbolDeclarator, name);
-            if (symbolReference.isSolved()) {
-                return symbolReference;
-            }
+        Statement declaringStmt = findDeclaringStatement(name, typeSolver, wrappedNode);
+        if (declaringStmt != null) {
+            return solveWith(JavaParserFactory.getSymbolDeclarator(declaringStmt, typeSolver), name);
         }
 
         // if nothing is found we should ask the parent context
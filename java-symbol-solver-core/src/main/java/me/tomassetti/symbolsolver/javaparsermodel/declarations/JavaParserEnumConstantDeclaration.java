@@ -1,6 +1,7 @@
 package me.tomassetti.symbolsolver.javaparsermodel.declarations;
 
 import com.github.javaparser.ast.body.EnumDeclaration;
+import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFacade;
 import me.tomassetti.symbolsolver.model.declarations.ValueDeclaration;
 import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
 import me.tomassetti.symbolsolver.model.typesystem.ReferenceTypeUsageImpl;
@@ -18,7 +19,7 @@ public class JavaParserEnumConstantDeclaration implements ValueDeclaration {
 
     @Override
     public TypeUsage getType() {
-        return new ReferenceTypeUsageImpl(new JavaParserEnumDeclaration((EnumDeclaration) wrappedNode.getParentNode(), typeSolver), typeSolver);
+        return new ReferenceTypeUsageImpl(JavaParserFacade.get(typeSolver).getTypeDeclaration((EnumDeclaration) wrappedNode.getParentNode()), typeSolver);
     }
 
     @Override
@@ -3,7 +3,6 @@ package me.tomassetti.symbolsolver.javaparsermodel.declarations;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.PackageDeclaration;
-import com.github.javaparser.ast.body.BodyDeclaration;
 import com.github.javaparser.ast.body.EnumConstantDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
 import me.tomassetti.symbolsolver.logic.AbstractTypeDeclaration;
@@ -18,6 +17,7 @@ import me.tomassetti.symbolsolver.model.typesystem.ReferenceTypeUsage;
 import me.tomassetti.symbolsolver.model.typesystem.ReferenceTypeUsageImpl;
 import me.tomassetti.symbolsolver.model.typesystem.TypeUsage;
 import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFactory;
+import me.tomassetti.symbolsolver.javaparsermodel.JavaParserMemberTables;
 import me.tomassetti.symbolsolver.javaparsermodel.UnsolvedSymbolException;
 
 import java.io.Serializable;
@@ -162,23 +162,15 @@ public class JavaParserEnumDeclaration extends AbstractTypeDeclaration implement
 
     @Override
     public FieldDeclaration getField(String name) {
-        if (this.wrappedNode.getMembers() != null) {
-            for (BodyDeclaration member : this.wrappedNode.getMembers()) {
-                if (member instanceof com.github.javaparser.ast.body.FieldDeclaration) {
-                    com.github.javaparser.ast.body.FieldDeclaration field = (com.github.javaparser.ast.body.FieldDeclaration) member;
-                    for (VariableDeclarator vd : field.getVariables()) {
-                        if (vd.getId().getName().equals(name)) {
-                            return new JavaParserFieldDeclaration(vd, typeSolver);
-                        }
-                    }
-                }
-            }
+        Optional<VariableDeclarator> field = JavaParserMemberTables.declaredField(wrappedNode, name);
+        if (field.isPresent()) {
+            return new JavaParserFieldDeclaration(field.get(), typeSolver);
         }
 
         if (this.wrappedNode.getEntries() != null) {
             for (EnumConstantDeclaration member : this.wrappedNode.getEntries()) {
                 if (member.getName().equals(name)) {
-                    return new JavaParserFieldDeclaration(member);
+                    return new JavaParserFieldDeclaration(member, typeSolver);
                 }
             }
         }
@@ -193,6 +185,9 @@ public class JavaParserEnumDeclaration extends AbstractTypeDeclaration implement
 
         JavaParserEnumDeclaration that = (JavaParserEnumDeclaration) o;
 
+        if (wrappedNode == that.wrappedNode) return true;
+        // structurally equal types can be declared in different packages
+        if (!getQualifiedName().equals(that.getQualifiedName())) return false;
         if (!wrappedNode.equals(that.wrappedNode)) return false;
 
         return true;
@@ -200,7 +195,8 @@ public class JavaParserEnumDeclaration extends AbstractTypeDeclaration implement
 
     @Override
     public int hashCode() {
-        return wrappedNode.hashCode();
+        // hashing the node would pretty print it
+        return wrappedNode.getName().hashCode();
     }
 
     @Override
@@ -228,18 +224,8 @@ public class JavaParserEnumDeclaration extends AbstractTypeDeclaration implement
 
     @Override
     public boolean hasField(String name) {
-        if (this.wrappedNode.getMembers() != null) {
-            for (BodyDeclaration member : this.wrappedNode.getMembers()) {
-                if (member instanceof com.github.javaparser.ast.body.FieldDeclaration) {
-                    com.github.javaparser.ast.body.FieldDeclaration field = (com.github.javaparser.ast.body.FieldDeclaration) member;
-                    for (VariableDeclarator vd : field.getVariables()) {
-                        if (vd.getId().getName().equals(name)) {
-                            return true;
-                        }
-                    }
-                }
-            }
-
+        if (JavaParserMemberTables.declaredField(wrappedNode, name).isPresent()) {
+            return true;
         }
 
         if (this.wrappedNode.getEntries() != null) {
@@ -264,7 +250,7 @@ public class JavaParserEnumDeclaration extends AbstractTypeDeclaration implement
     }
 
     @Override
-    public List<ReferenceTypeUsage> getAllAncestors() {
+    protected List<ReferenceTypeUsage> calculateAllAncestors() {
         throw new UnsupportedOperationException();
     }
 
@@ -24,15 +24,16 @@ public class JavaParserFieldDeclaration implements FieldDeclaration {
         this.wrappedNode = (com.github.javaparser.ast.body.FieldDeclaration) variableDeclarator.getParentNode();
     }
 
-    public JavaParserFieldDeclaration(EnumConstantDeclaration enumConstantDeclaration) {
+    public JavaParserFieldDeclaration(EnumConstantDeclaration enumConstantDeclaration, TypeSolver typeSolver) {
         this.enumConstantDeclaration = enumConstantDeclaration;
+        this.typeSolver = typeSolver;
     }
 
     @Override
     public TypeUsage getType() {
         if (enumConstantDeclaration != null) {
             com.github.javaparser.ast.body.EnumDeclaration enumDeclaration = (com.github.javaparser.ast.body.EnumDeclaration) enumConstantDeclaration.getParentNode();
-            return new ReferenceTypeUsageImpl(new JavaParserEnumDeclaration(enumDeclaration, typeSolver), typeSolver);
+            return new ReferenceTypeUsageImpl(JavaParserFacade.get(typeSolver).getTypeDeclaration(enumDeclaration), typeSolver);
         } else {
             return JavaParserFacade.get(typeSolver).convert(wrappedNode.getType(), wrappedNode);
         }
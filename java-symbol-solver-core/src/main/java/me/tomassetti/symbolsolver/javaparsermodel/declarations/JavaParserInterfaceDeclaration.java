@@ -3,9 +3,7 @@ package me.tomassetti.symbolsolver.javaparsermodel.declarations;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.PackageDeclaration;
-import com.github.javaparser.ast.body.BodyDeclaration;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
-import com.github.javaparser.ast.body.EnumDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import me.tomassetti.symbolsolver.logic.AbstractTypeDeclaration;
@@ -18,12 +16,15 @@ import me.tomassetti.symbolsolver.model.typesystem.ReferenceTypeUsage;
 import me.tomassetti.symbolsolver.model.typesystem.ReferenceTypeUsageImpl;
 import me.tomassetti.symbolsolver.model.typesystem.TypeUsage;
 import me.tomassetti.symbolsolver.resolution.*;
+import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFacade;
 import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFactory;
+import me.tomassetti.symbolsolver.javaparsermodel.JavaParserMemberTables;
 import me.tomassetti.symbolsolver.javaparsermodel.UnsolvedSymbolException;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -66,6 +67,9 @@ public class JavaParserInterfaceDeclaration extends AbstractTypeDeclaration impl
 
         JavaParserInterfaceDeclaration that = (JavaParserInterfaceDeclaration) o;
 
+        if (wrappedNode == that.wrappedNode) return true;
+        // structurally equal types can be declared in different packages
+        if (!getQualifiedName().equals(that.getQualifiedName())) return false;
         if (!wrappedNode.equals(that.wrappedNode)) return false;
 
         return true;
@@ -73,7 +77,8 @@ public class JavaParserInterfaceDeclaration extends AbstractTypeDeclaration impl
 
     @Override
     public int hashCode() {
-        return wrappedNode.hashCode();
+        // hashing the node would pretty print it
+        return wrappedNode.getName().hashCode();
     }
 
     @Override
@@ -113,14 +118,7 @@ public class JavaParserInterfaceDeclaration extends AbstractTypeDeclaration impl
 
     @Override
     public boolean isAssignableBy(TypeDeclaration other) {
-        List<ReferenceTypeUsage> ancestorsOfOther = other.getAllAncestors();
-        ancestorsOfOther.add(new ReferenceTypeUsageImpl(other, typeSolver));
-        for (ReferenceTypeUsage ancestorOfOther : ancestorsOfOther) {
-            if (ancestorOfOther.getQualifiedName().equals(this.getQualifiedName())) {
-                return true;
-            }
-        }
-        return false;
+        return other.isSubtypeOf(this.getQualifiedName());
     }
 
     private String containerName(String base, Node container) {
@@ -198,15 +196,9 @@ public class JavaParserInterfaceDeclaration extends AbstractTypeDeclaration impl
 
     @Override
     public FieldDeclaration getField(String name) {
-        for (BodyDeclaration member : this.wrappedNode.getMembers()) {
-            if (member instanceof com.github.javaparser.ast.body.FieldDeclaration) {
-                com.github.javaparser.ast.body.FieldDeclaration field = (com.github.javaparser.ast.body.FieldDeclaration) member;
-                for (VariableDeclarator vd : field.getVariables()) {
-                    if (vd.getId().getName().equals(name)) {
-                        return new JavaParserFieldDeclaration(vd, typeSolver);
-                    }
-                }
-            }
+        Optional<VariableDeclarator> field = JavaParserMemberTables.declaredField(wrappedNode, name);
+        if (field.isPresent()) {
+            return new JavaParserFieldDeclaration(field.get(), typeSolver);
         }
 
         throw new UnsupportedOperationException("Derived fields");
@@ -221,15 +213,8 @@ public class JavaParserInterfaceDeclaration extends AbstractTypeDeclaration impl
 
     @Override
     public boolean hasField(String name) {
-        for (BodyDeclaration member : this.wrappedNode.getMembers()) {
-            if (member instanceof com.github.javaparser.ast.body.FieldDeclaration) {
-                com.github.javaparser.ast.body.FieldDeclaration field = (com.github.javaparser.ast.body.FieldDeclaration) member;
-                for (VariableDeclarator vd : field.getVariables()) {
-                    if (vd.getId().getName().equals(name)) {
-                        return true;
-                    }
-                }
-            }
+        if (JavaParserMemberTables.declaredField(wrappedNode, name).isPresent()) {
+            return true;
         }
 
         throw new UnsupportedOperationException("Derived fields");
@@ -245,49 +230,34 @@ public class JavaParserInterfaceDeclaration extends AbstractTypeDeclaration impl
         if (this.wrappedNode.getName().equals(name)) {
             return SymbolReference.solved(this);
         }
-        if (this.wrappedNode.getTypeParameters() != null) {
-            for (com.github.javaparser.ast.TypeParameter typeParameter : this.wrappedNode.getTypeParameters()) {
-                if (typeParameter.getName().equals(name)) {
-                    return SymbolReference.solved(new JavaParserTypeVariableDeclaration(typeParameter, typeSolver));
-                }
-            }
+        Optional<com.github.javaparser.ast.TypeParameter> typeParameter = JavaParserMemberTables.declaredTypeParameter(wrappedNode, name);
+        if (typeParameter.isPresent()) {
+            return SymbolReference.solved(new JavaParserTypeVariableDeclaration(typeParameter.get(), typeSolver));
         }
 
         // Internal classes
-        for (BodyDeclaration member : this.wrappedNode.getMembers()) {
-            if (member instanceof com.github.javaparser.ast.body.TypeDeclaration) {
-                com.github.javaparser.ast.body.TypeDeclaration internalType = (com.github.javaparser.ast.body.TypeDeclaration) member;
-                String prefix = internalType.getName() + ".";
-                if (internalType.getName().equals(name)) {
-                    if (internalType instanceof ClassOrInterfaceDeclaration) {
-                        return SymbolReference.solved(new JavaParserInterfaceDeclaration((ClassOrInterfaceDeclaration) internalType, typeSolver));
-                    } else if (internalType instanceof EnumDeclaration) {
-                        return SymbolReference.solved(new JavaParserEnumDeclaration((EnumDeclaration) internalType, typeSolver));
-                    } else {
-                        throw new UnsupportedOperationException();
-                    }
-                } else if (name.startsWith(prefix) && name.length() > prefix.length()) {
-                    if (internalType instanceof ClassOrInterfaceDeclaration) {
-                        return new JavaParserInterfaceDeclaration((ClassOrInterfaceDeclaration) internalType, typeSolver).solveType(name.substring(prefix.length()), typeSolver);
-                    } else if (internalType instanceof EnumDeclaration) {
-                        return new JavaParserEnumDeclaration((EnumDeclaration) internalType, typeSolver).solveType(name.substring(prefix.length()), typeSolver);
-                    } else {
-                        throw new UnsupportedOperationException();
-                    }
-                }
+        int dot = name.indexOf('.');
+        Optional<com.github.javaparser.ast.body.TypeDeclaration> internal =
+                JavaParserMemberTables.declaredType(wrappedNode, dot == -1 ? name : name.substring(0, dot));
+        if (internal.isPresent()) {
+            com.github.javaparser.ast.body.TypeDeclaration internalType = internal.get();
+            if (dot == -1) {
+                return SymbolReference.solved(JavaParserFacade.get(typeSolver).getTypeDeclaration(internalType));
+            } else if (name.length() > dot + 1) {
+                return JavaParserFacade.get(typeSolver).getTypeDeclaration(internalType).solveType(name.substring(dot + 1), typeSolver);
             }
         }
 
         String prefix = wrappedNode.getName() + ".";
         if (name.startsWith(prefix) && name.length() > prefix.length()) {
-            return new JavaParserInterfaceDeclaration(this.wrappedNode, typeSolver).solveType(name.substring(prefix.length()), typeSolver);
+            return solveType(name.substring(prefix.length()), typeSolver);
         }
 
         return SymbolReference.unsolved(TypeDeclaration.class);
     }
 
     @Override
-    public List<ReferenceTypeUsage> getAllAncestors() {
+    protected List<ReferenceTypeUsage> calculateAllAncestors() {
         List<ReferenceTypeUsage> ancestors = new ArrayList<>();
         if (wrappedNode.getExtends() != null) {
             for (ClassOrInterfaceType extended : wrappedNode.getExtends()) {
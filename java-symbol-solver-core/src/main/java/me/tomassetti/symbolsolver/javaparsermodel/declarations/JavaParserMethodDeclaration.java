@@ -36,10 +36,29 @@ public class JavaParserMethodDeclaration implements MethodDeclaration {
                 '}';
     }
 
+    /**
+     * Declarations wrapping the same node are equal. Nodes are compared by identity, as their equals and hashCode
+     * are structural and expensive.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        JavaParserMethodDeclaration that = (JavaParserMethodDeclaration) o;
+
+        return wrappedNode == that.wrappedNode;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(wrappedNode);
+    }
+
     @Override
     public TypeDeclaration declaringType() {
         if (wrappedNode.getParentNode() instanceof ClassOrInterfaceDeclaration) {
-            return new JavaParserClassDeclaration((ClassOrInterfaceDeclaration) wrappedNode.getParentNode(), typeSolver);
+            return JavaParserFacade.get(typeSolver).getTypeDeclaration((ClassOrInterfaceDeclaration) wrappedNode.getParentNode());
         } else {
             throw new UnsupportedOperationException();
         }
@@ -140,7 +140,7 @@ public class JavaParserTypeParameter extends AbstractTypeDeclaration implements
     }
 
     @Override
-    public List<ReferenceTypeUsage> getAllAncestors() {
+    protected List<ReferenceTypeUsage> calculateAllAncestors() {
         throw new UnsupportedOperationException();
     }
 
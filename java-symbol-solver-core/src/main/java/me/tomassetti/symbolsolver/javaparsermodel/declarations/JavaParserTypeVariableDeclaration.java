@@ -98,7 +98,7 @@ public class JavaParserTypeVariableDeclaration extends AbstractTypeDeclaration {
     }
 
     @Override
-    public List<ReferenceTypeUsage> getAllAncestors() {
+    protected List<ReferenceTypeUsage> calculateAllAncestors() {
         throw new UnsupportedOperationException();
     }
 
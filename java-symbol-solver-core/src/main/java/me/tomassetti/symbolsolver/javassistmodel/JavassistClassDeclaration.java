@@ -31,6 +31,7 @@ public class JavassistClassDeclaration extends AbstractClassDeclaration {
 
     private CtClass ctClass;
     private TypeSolver typeSolver;
+    private JavassistMethodTable methodTable;
 
     @Override
     protected ReferenceTypeUsage object() {
@@ -58,6 +59,7 @@ public class JavassistClassDeclaration extends AbstractClassDeclaration {
         }
         this.ctClass = ctClass;
         this.typeSolver = typeSolver;
+        this.methodTable = new JavassistMethodTable(ctClass);
     }
 
     @Override
@@ -123,24 +125,22 @@ public class JavassistClassDeclaration extends AbstractClassDeclaration {
                                                     Context invokationContext, List<TypeUsage> typeParameterValues) {
 
         // TODO avoid bridge and synthetic methods
-        for (CtMethod method : ctClass.getDeclaredMethods()) {
-            if (method.getName().equals(name)) {
-                // TODO check parameters
-                MethodUsage methodUsage = new MethodUsage(new JavassistMethodDeclaration(method, typeSolver), typeSolver);
-                try {
-                    if (method.getGenericSignature() != null) {
-                        SignatureAttribute.MethodSignature classSignature = SignatureAttribute.toMethodSignature(method.getGenericSignature());
-                        List<TypeUsage> parametersOfReturnType = parseTypeParameters(classSignature.getReturnType().toString(), typeSolver, new JavassistMethodContext(method), invokationContext);
-                        TypeUsage newReturnType = methodUsage.returnType();
-                        for (int i = 0; i < parametersOfReturnType.size(); i++) {
-                            newReturnType = newReturnType.asReferenceTypeUsage().replaceParam(i, parametersOfReturnType.get(i));
-                        }
-                        methodUsage = methodUsage.replaceReturnType(newReturnType);
+        for (CtMethod method : methodTable.declaredMethods(name)) {
+            // TODO check parameters
+            MethodUsage methodUsage = new MethodUsage(new JavassistMethodDeclaration(method, typeSolver), typeSolver);
+            try {
+                if (method.getGenericSignature() != null) {
+                    SignatureAttribute.MethodSignature classSignature = SignatureAttribute.toMethodSignature(method.getGenericSignature());
+                    List<TypeUsage> parametersOfReturnType = parseTypeParameters(classSignature.getReturnType().toString(), typeSolver, new JavassistMethodContext(method), invokationContext);
+                    TypeUsage newReturnType = methodUsage.returnType();
+                    for (int i = 0; i < parametersOfReturnType.size(); i++) {
+                        newReturnType = newReturnType.asReferenceTypeUsage().replaceParam(i, parametersOfReturnType.get(i));
                     }
-                    return Optional.of(methodUsage);
-                } catch (BadBytecode e) {
-                    throw new RuntimeException(e);
+                    methodUsage = methodUsage.replaceReturnType(newReturnType);
                 }
+                return Optional.of(methodUsage);
+            } catch (BadBytecode e) {
+                throw new RuntimeException(e);
             }
         }
 
@@ -210,7 +210,7 @@ public class JavassistClassDeclaration extends AbstractClassDeclaration {
     }
 
     @Override
-    public List<ReferenceTypeUsage> getAllAncestors() {
+    protected List<ReferenceTypeUsage> calculateAllAncestors() {
         List<ReferenceTypeUsage> ancestors = new LinkedList<>();
         if (getSuperClass() != null) {
             ancestors.add(getSuperClass());
@@ -228,11 +228,9 @@ public class JavassistClassDeclaration extends AbstractClassDeclaration {
     @Override
     public SymbolReference<MethodDeclaration> solveMethod(String name, List<TypeUsage> parameterTypes) {
         List<MethodDeclaration> candidates = new ArrayList<>();
-        for (CtMethod method : ctClass.getDeclaredMethods()) {
+        for (CtMethod method : methodTable.declaredMethods(name)) {
             // TODO avoid bridge and synthetic methods
-            if (method.getName().equals(name)) {
-                candidates.add(new JavassistMethodDeclaration(method, typeSolver));
-            }
+            candidates.add(new JavassistMethodDeclaration(method, typeSolver));
         }
 
         try {
@@ -349,6 +347,9 @@ public class JavassistClassDeclaration extends AbstractClassDeclaration {
     public ReferenceTypeUsageImpl getSuperClass() {
         try {
             if (ctClass.getSuperclass() == null) {
+                if (ctClass.getName().equals(Object.class.getCanonicalName())) {
+                    return null;
+                }
                 return new ReferenceTypeUsageImpl(typeSolver.solveType(Object.class.getCanonicalName()), typeSolver());
             }
             return new ReferenceTypeUsageImpl(new JavassistClassDeclaration(ctClass.getSuperclass(), typeSolver).asClass(), typeSolver);
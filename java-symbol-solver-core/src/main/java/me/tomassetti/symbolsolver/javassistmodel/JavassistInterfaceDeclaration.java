@@ -25,6 +25,7 @@ import java.util.stream.Collectors;
 public class JavassistInterfaceDeclaration extends AbstractTypeDeclaration implements InterfaceDeclaration {
 
     private CtClass ctClass;
+    private JavassistMethodTable methodTable;
 
     @Override
     public String toString() {
@@ -39,11 +40,29 @@ public class JavassistInterfaceDeclaration extends AbstractTypeDeclaration imple
     public JavassistInterfaceDeclaration(CtClass ctClass, TypeSolver typeSolver) {
         this.ctClass = ctClass;
         this.typeSolver = typeSolver;
+        this.methodTable = new JavassistMethodTable(ctClass);
         if (!ctClass.isInterface()) {
             throw new IllegalArgumentException("Not an interface: " + ctClass.getName());
         }
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        JavassistInterfaceDeclaration that = (JavassistInterfaceDeclaration) o;
+
+        if (!ctClass.equals(that.ctClass)) return false;
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return ctClass.hashCode();
+    }
+
     @Override
     public List<InterfaceDeclaration> getInterfacesExtended() {
         try {
@@ -93,24 +112,22 @@ public class JavassistInterfaceDeclaration extends AbstractTypeDeclaration imple
                                                     Context invokationContext, List<TypeUsage> typeParameterValues) {
 
         // TODO avoid bridge and synthetic methods
-        for (CtMethod method : ctClass.getDeclaredMethods()) {
-            if (method.getName().equals(name)) {
-                // TODO check parameters
-                MethodUsage methodUsage = new MethodUsage(new JavassistMethodDeclaration(method, typeSolver), typeSolver);
-                try {
-                    if (method.getGenericSignature() != null) {
-                        SignatureAttribute.MethodSignature classSignature = SignatureAttribute.toMethodSignature(method.getGenericSignature());
-                        List<TypeUsage> parametersOfReturnType = parseTypeParameters(classSignature.getReturnType().toString(), typeSolver, new JavassistMethodContext(method), invokationContext);
-                        TypeUsage newReturnType = methodUsage.returnType();
-                        for (int i = 0; i < parametersOfReturnType.size(); i++) {
-                            newReturnType = newReturnType.asReferenceTypeUsage().replaceParam(i, parametersOfReturnType.get(i));
-                        }
-                        methodUsage = methodUsage.replaceReturnType(newReturnType);
+        for (CtMethod method : methodTable.declaredMethods(name)) {
+            // TODO check parameters
+            MethodUsage methodUsage = new MethodUsage(new JavassistMethodDeclaration(method, typeSolver), typeSolver);
+            try {
+                if (method.getGenericSignature() != null) {
+                    SignatureAttribute.MethodSignature classSignature = SignatureAttribute.toMethodSignature(method.getGenericSignature());
+                    List<TypeUsage> parametersOfReturnType = parseTypeParameters(classSignature.getReturnType().toString(), typeSolver, new JavassistMethodContext(method), invokationContext);
+                    TypeUsage newReturnType = methodUsage.returnType();
+                    for (int i = 0; i < parametersOfReturnType.size(); i++) {
+                        newReturnType = newReturnType.asReferenceTypeUsage().replaceParam(i, parametersOfReturnType.get(i));
                     }
-                    return Optional.of(methodUsage);
-                } catch (BadBytecode e) {
-                    throw new RuntimeException(e);
+                    methodUsage = methodUsage.replaceReturnType(newReturnType);
                 }
+                return Optional.of(methodUsage);
+            } catch (BadBytecode e) {
+                throw new RuntimeException(e);
             }
         }
 
@@ -143,11 +160,9 @@ public class JavassistInterfaceDeclaration extends AbstractTypeDeclaration imple
     @Override
     public SymbolReference<MethodDeclaration> solveMethod(String name, List<TypeUsage> parameterTypes) {
         List<MethodDeclaration> candidates = new ArrayList<>();
-        for (CtMethod method : ctClass.getDeclaredMethods()) {
+        for (CtMethod method : methodTable.declaredMethods(name)) {
             // TODO avoid bridge and synthetic methods
-            if (method.getName().equals(name)) {
-                candidates.add(new JavassistMethodDeclaration(method, typeSolver));
-            }
+            candidates.add(new JavassistMethodDeclaration(method, typeSolver));
         }
 
         try {
@@ -212,7 +227,7 @@ public class JavassistInterfaceDeclaration extends AbstractTypeDeclaration imple
     }
 
     @Override
-    public List<ReferenceTypeUsage> getAllAncestors() {
+    protected List<ReferenceTypeUsage> calculateAllAncestors() {
         List<ReferenceTypeUsage> ancestors = new ArrayList<>();
         try {
             for (CtClass interfaze : ctClass.getInterfaces()) {
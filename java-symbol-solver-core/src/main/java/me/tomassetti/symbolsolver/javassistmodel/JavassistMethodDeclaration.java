@@ -35,6 +35,30 @@ public class JavassistMethodDeclaration implements MethodDeclaration {
                 '}';
     }
 
+    /**
+     * Methods are compared by declaring class, name and descriptor, so that the same method is recognized also
+     * when its class has been loaded again.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        JavassistMethodDeclaration that = (JavassistMethodDeclaration) o;
+
+        if (!ctMethod.getDeclaringClass().getName().equals(that.ctMethod.getDeclaringClass().getName())) return false;
+        if (!ctMethod.getName().equals(that.ctMethod.getName())) return false;
+        return ctMethod.getSignature().equals(that.ctMethod.getSignature());
+    }
+
+    @Override
+    public int hashCode() {
+        int result = ctMethod.getDeclaringClass().getName().hashCode();
+        result = 31 * result + ctMethod.getName().hashCode();
+        result = 31 * result + ctMethod.getSignature().hashCode();
+        return result;
+    }
+
     @Override
     public String getName() {
         return ctMethod.getName();
@@ -0,0 +1,31 @@
+package me.tomassetti.symbolsolver.javassistmodel;
+
+import javassist.CtClass;
+import javassist.CtMethod;
+import me.tomassetti.symbolsolver.logic.MethodTable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Methods declared by a CtClass, grouped by name. The table is built at the first lookup and it is owned by
+ * the declaration wrapping the CtClass, so it is discarded together with the declaration.
+ */
+class JavassistMethodTable {
+
+    private final CtClass ctClass;
+    private volatile MethodTable<CtMethod> declaredMethods;
+
+    JavassistMethodTable(CtClass ctClass) {
+        this.ctClass = ctClass;
+    }
+
+    List<CtMethod> declaredMethods(String name) {
+        MethodTable<CtMethod> declaredMethods = this.declaredMethods;
+        if (declaredMethods == null) {
+            declaredMethods = MethodTable.of(Arrays.asList(ctClass.getDeclaredMethods()), CtMethod::getName);
+            this.declaredMethods = declaredMethods;
+        }
+        return declaredMethods.get(name);
+    }
+}
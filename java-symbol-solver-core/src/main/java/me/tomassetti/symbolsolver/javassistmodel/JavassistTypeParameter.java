@@ -38,7 +38,7 @@ public class JavassistTypeParameter implements TypeParameter {
 
     @Override
     public boolean declaredOnMethod() {
-        throw new UnsupportedOperationException();
+        return !declaredOnClass;
     }
 
     @Override
@@ -65,6 +65,9 @@ public class ReferenceTypeUsageImpl extends ReferenceTypeUsage {
             if (compareConsideringTypeParameters(otherRef)) {
                 return true;
             }
+            if (!otherRef.isSubtypeOf(this.getQualifiedName())) {
+                return false;
+            }
             for (ReferenceTypeUsage otherAncestor : otherRef.getAllAncestors()) {
                 if (compareConsideringTypeParameters(otherAncestor)) {
                     return true;
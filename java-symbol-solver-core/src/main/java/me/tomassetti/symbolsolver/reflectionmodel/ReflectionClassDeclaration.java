@@ -63,7 +63,7 @@ public class ReflectionClassDeclaration extends AbstractClassDeclaration {
     }
 
     @Override
-    public List<ReferenceTypeUsage> getAllAncestors() {
+    protected List<ReferenceTypeUsage> calculateAllAncestors() {
         List<ReferenceTypeUsage> ancestors = new LinkedList<>();
         if (getSuperClass() != null) {
             ReferenceTypeUsageImpl superClass = getSuperClass();
@@ -78,8 +78,7 @@ public class ReflectionClassDeclaration extends AbstractClassDeclaration {
                 i--;
             }
         }
-        ReferenceTypeUsageImpl object = new ReferenceTypeUsageImpl(new ReflectionClassDeclaration(Object.class, typeSolver), typeSolver);
-        ancestors.add(object);
+        ancestors.add(ReflectionFactory.objectTypeUsage(typeSolver));
         return ancestors;
     }
 
@@ -113,8 +112,7 @@ public class ReflectionClassDeclaration extends AbstractClassDeclaration {
     @Override
     public SymbolReference<MethodDeclaration> solveMethod(String name, List<TypeUsage> parameterTypes) {
         List<MethodDeclaration> methods = new ArrayList<>();
-        for (Method method : Arrays.stream(clazz.getDeclaredMethods()).filter((m) -> m.getName().equals(name)).sorted(new MethodComparator()).collect(Collectors.toList())) {
-            if (method.isBridge() || method.isSynthetic()) continue;
+        for (Method method : ReflectionMethodResolutionLogic.declaredMethods(clazz, name)) {
             MethodDeclaration methodDeclaration = new ReflectionMethodDeclaration(method, typeSolver);
             methods.add(methodDeclaration);
         }
@@ -149,8 +147,7 @@ public class ReflectionClassDeclaration extends AbstractClassDeclaration {
     @Override
     public Optional<MethodUsage> solveMethodAsUsage(String name, List<TypeUsage> parameterTypes, TypeSolver typeSolver, Context invokationContext, List<TypeUsage> typeParameterValues) {
         List<MethodUsage> methods = new ArrayList<>();
-        for (Method method : Arrays.stream(clazz.getDeclaredMethods()).filter((m) -> m.getName().equals(name)).sorted(new MethodComparator()).collect(Collectors.toList())) {
-            if (method.isBridge() || method.isSynthetic()) continue;
+        for (Method method : ReflectionMethodResolutionLogic.declaredMethods(clazz, name)) {
             MethodDeclaration methodDeclaration = new ReflectionMethodDeclaration(method, typeSolver);
             MethodUsage methodUsage = new MethodUsage(methodDeclaration, typeSolver);
             for (int i = 0; i < getTypeParameters().size(); i++) {
@@ -405,7 +402,7 @@ public class ReflectionClassDeclaration extends AbstractClassDeclaration {
         }
     }
 
-    private static class MethodComparator implements Comparator<Method> {
+    static class MethodComparator implements Comparator<Method> {
 
         @Override
         public int compare(Method o1, Method o2) {
@@ -1,11 +1,23 @@
 package me.tomassetti.symbolsolver.reflectionmodel;
 
+import me.tomassetti.symbolsolver.model.declarations.TypeDeclaration;
+import me.tomassetti.symbolsolver.model.resolution.SymbolReference;
 import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
 import me.tomassetti.symbolsolver.model.typesystem.*;
 
 import java.lang.reflect.*;
 
 public class ReflectionFactory {
+
+    /**
+     * The type java.lang.Object, built on the canonical declaration of the type solver when it can solve it.
+     */
+    public static ReferenceTypeUsage objectTypeUsage(TypeSolver typeSolver) {
+        SymbolReference<TypeDeclaration> ref = typeSolver.tryToSolveType(Object.class.getCanonicalName());
+        TypeDeclaration objectType = ref.isSolved() ? ref.getCorrespondingDeclaration() : new ReflectionClassDeclaration(Object.class, typeSolver);
+        return TypeUsageInterner.intern(new ReferenceTypeUsageImpl(objectType, typeSolver));
+    }
+
     public static TypeUsage typeUsageFor(Class<?> clazz, TypeSolver typeSolver) {
         if (clazz.isArray()) {
             return new ArrayTypeUsage(typeUsageFor(clazz.getComponentType(), typeSolver));
@@ -58,8 +58,7 @@ public class ReflectionInterfaceDeclaration extends AbstractTypeDeclaration impl
     @Override
     public SymbolReference<MethodDeclaration> solveMethod(String name, List<TypeUsage> parameterTypes) {
         List<MethodDeclaration> methods = new ArrayList<>();
-        for (Method method : clazz.getMethods()) {
-            if (method.isBridge() || method.isSynthetic()) continue;
+        for (Method method : ReflectionMethodResolutionLogic.publicMethods(clazz, name)) {
             MethodDeclaration methodDeclaration = new ReflectionMethodDeclaration(method, typeSolver);
             methods.add(methodDeclaration);
         }
@@ -234,7 +233,7 @@ public class ReflectionInterfaceDeclaration extends AbstractTypeDeclaration impl
     }
 
     @Override
-    public List<ReferenceTypeUsage> getAllAncestors() {
+    protected List<ReferenceTypeUsage> calculateAllAncestors() {
         List<ReferenceTypeUsage> ancestors = new LinkedList<>();
         if (clazz.getSuperclass() != null) {
             ReferenceTypeUsageImpl superclass = new ReferenceTypeUsageImpl(new ReflectionInterfaceDeclaration(clazz.getSuperclass(), typeSolver), typeSolver);
@@ -252,8 +251,7 @@ public class ReflectionInterfaceDeclaration extends AbstractTypeDeclaration impl
                 i--;
             }
         }
-        ReferenceTypeUsageImpl object = new ReferenceTypeUsageImpl(new ReflectionClassDeclaration(Object.class, typeSolver), typeSolver);
-        ancestors.add(object);
+        ancestors.add(ReflectionFactory.objectTypeUsage(typeSolver));
         return ancestors;
     }
 
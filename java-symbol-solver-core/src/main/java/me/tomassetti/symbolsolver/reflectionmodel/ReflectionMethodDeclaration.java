@@ -56,6 +56,21 @@ public class ReflectionMethodDeclaration implements MethodDeclaration {
                 '}';
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ReflectionMethodDeclaration that = (ReflectionMethodDeclaration) o;
+
+        return method.equals(that.method);
+    }
+
+    @Override
+    public int hashCode() {
+        return method.hashCode();
+    }
+
     @Override
     public boolean isType() {
         return false;
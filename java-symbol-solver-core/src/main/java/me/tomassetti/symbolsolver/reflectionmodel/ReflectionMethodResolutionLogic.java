@@ -1,5 +1,6 @@
 package me.tomassetti.symbolsolver.reflectionmodel;
 
+import me.tomassetti.symbolsolver.logic.MethodTable;
 import me.tomassetti.symbolsolver.resolution.MethodResolutionLogic;
 import me.tomassetti.symbolsolver.model.declarations.MethodDeclaration;
 import me.tomassetti.symbolsolver.model.declarations.TypeParametrized;
@@ -7,18 +8,52 @@ import me.tomassetti.symbolsolver.model.invokations.MethodUsage;
 import me.tomassetti.symbolsolver.model.resolution.Context;
 import me.tomassetti.symbolsolver.model.resolution.TypeParameter;
 import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
-import me.tomassetti.symbolsolver.model.typesystem.ReferenceTypeUsageImpl;
+import me.tomassetti.symbolsolver.model.typesystem.ReferenceTypeUsage;
 import me.tomassetti.symbolsolver.model.typesystem.TypeParameterUsage;
 import me.tomassetti.symbolsolver.model.typesystem.TypeUsage;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 class ReflectionMethodResolutionLogic {
 
+    /**
+     * Methods declared by each class, sorted, without bridge and synthetic methods.
+     */
+    private static final ClassValue<MethodTable<Method>> DECLARED_METHODS = new ClassValue<MethodTable<Method>>() {
+        @Override
+        protected MethodTable<Method> computeValue(Class<?> clazz) {
+            return MethodTable.of(Arrays.stream(clazz.getDeclaredMethods())
+                    .filter((m) -> !m.isBridge() && !m.isSynthetic())
+                    .sorted(new ReflectionClassDeclaration.MethodComparator())
+                    .collect(Collectors.toList()), Method::getName);
+        }
+    };
+
+    /**
+     * Public methods of each class, inherited ones included, without bridge and synthetic methods.
+     */
+    private static final ClassValue<MethodTable<Method>> PUBLIC_METHODS = new ClassValue<MethodTable<Method>>() {
+        @Override
+        protected MethodTable<Method> computeValue(Class<?> clazz) {
+            return MethodTable.of(Arrays.stream(clazz.getMethods())
+                    .filter((m) -> !m.isBridge() && !m.isSynthetic())
+                    .collect(Collectors.toList()), Method::getName);
+        }
+    };
+
+    static List<Method> declaredMethods(Class<?> clazz, String name) {
+        return DECLARED_METHODS.get(clazz).get(name);
+    }
+
+    static List<Method> publicMethods(Class<?> clazz, String name) {
+        return PUBLIC_METHODS.get(clazz).get(name);
+    }
+
     static Optional<MethodUsage> solveMethodAsUsage(String name, List<TypeUsage> parameterTypes, TypeSolver typeSolver,
                                                     Context invokationContext, List<TypeUsage> typeParameterValues,
                                                     TypeParametrized typeParametrized, Class clazz) {
@@ -30,27 +65,25 @@ class ReflectionMethodResolutionLogic {
             if (typeParametrized.getTypeParameters().size() != 0) {
                 // Parameters not specified, so default to Object
                 typeParameterValues = new ArrayList<>();
+                ReferenceTypeUsage object = ReflectionFactory.objectTypeUsage(typeSolver);
                 for (int i = 0; i < typeParametrized.getTypeParameters().size(); i++) {
-                    typeParameterValues.add(new ReferenceTypeUsageImpl(new ReflectionClassDeclaration(Object.class, typeSolver), typeSolver));
+                    typeParameterValues.add(object);
                 }
             }
         }
         List<MethodUsage> methods = new ArrayList<>();
-        for (Method method : clazz.getMethods()) {
-            if (method.getName().equals(name) && !method.isBridge() && !method.isSynthetic()) {
-                MethodDeclaration methodDeclaration = new ReflectionMethodDeclaration(method, typeSolver);
-                MethodUsage methodUsage = new MethodUsage(methodDeclaration, typeSolver);
-                int i = 0;
-                for (TypeParameter tp : typeParametrized.getTypeParameters()) {
-                    methodUsage = methodUsage.replaceNameParam(tp.getName(), typeParameterValues.get(i));
-                    i++;
-                }
-                for (TypeParameter methodTypeParameter : methodDeclaration.getTypeParameters()) {
-                    methodUsage = methodUsage.replaceNameParam(methodTypeParameter.getName(), new TypeParameterUsage(methodTypeParameter));
-                }
-                methods.add(methodUsage);
+        for (Method method : publicMethods(clazz, name)) {
+            MethodDeclaration methodDeclaration = new ReflectionMethodDeclaration(method, typeSolver);
+            MethodUsage methodUsage = new MethodUsage(methodDeclaration, typeSolver);
+            int i = 0;
+            for (TypeParameter tp : typeParametrized.getTypeParameters()) {
+                methodUsage = methodUsage.replaceNameParam(tp.getName(), typeParameterValues.get(i));
+                i++;
             }
-
+            for (TypeParameter methodTypeParameter : methodDeclaration.getTypeParameters()) {
+                methodUsage = methodUsage.replaceNameParam(methodTypeParameter.getName(), new TypeParameterUsage(methodTypeParameter));
+            }
+            methods.add(methodUsage);
         }
         final List<TypeUsage> finalTypeParameterValues = typeParameterValues;
         parameterTypes = parameterTypes.stream().map((pt) -> {
@@ -0,0 +1,204 @@
+package me.tomassetti.symbolsolver.resolution;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import me.tomassetti.symbolsolver.model.declarations.MethodDeclaration;
+import me.tomassetti.symbolsolver.model.resolution.SymbolReference;
+import me.tomassetti.symbolsolver.model.typesystem.ArrayTypeUsage;
+import me.tomassetti.symbolsolver.model.typesystem.NullTypeUsage;
+import me.tomassetti.symbolsolver.model.typesystem.PrimitiveTypeUsage;
+import me.tomassetti.symbolsolver.model.typesystem.ReferenceTypeUsage;
+import me.tomassetti.symbolsolver.model.typesystem.TypeUsage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Method declarations found by overload resolution, keyed by the type of the receiver, the name of the method and
+ * the types of the arguments. The same call shapes (e.g., StringBuilder.append(String)) recur across a code base and
+ * are resolved once. Unqualified calls are cached too, their receiver being the type of this.
+ *
+ * Types are compared by description, so calls involving type variables, wildcards or lambdas, whose description
+ * depends on the context, are never cached. Failed resolutions are not cached either: they are retried, as the
+ * missing declaration could become available. Method usages are not cached, as they depend on the context of
+ * the call.
+ *
+ * Each entry remembers the types it was calculated from (receiver, arguments and the type declaring the method),
+ * so that when those types change only the entries involving them are evicted (see {@link #evictTypes(Collection)}).
+ */
+public class MethodResolutionCache {
+
+    public static final long DEFAULT_SIZE = 10000;
+
+    private Cache<Signature, Entry> declarations;
+
+    public MethodResolutionCache() {
+        this(DEFAULT_SIZE);
+    }
+
+    public MethodResolutionCache(long maximumSize) {
+        this.declarations = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    /**
+     * Return the method declaration resolved for the given call shape, invoking solver only if it is not
+     * cached yet. The result of solver is cached only if it is solved.
+     */
+    public SymbolReference<MethodDeclaration> getDeclaration(ReferenceTypeUsage receiver, String name, List<TypeUsage> argumentTypes,
+                                                              Supplier<SymbolReference<MethodDeclaration>> solver) {
+        Optional<Signature> signature = Signature.of(receiver, name, argumentTypes);
+        if (!signature.isPresent()) {
+            return solver.get();
+        }
+        return get(declarations, signature.get(), solver);
+    }
+
+    private static SymbolReference<MethodDeclaration> get(Cache<Signature, Entry> cache, Signature signature,
+                                                          Supplier<SymbolReference<MethodDeclaration>> solver) {
+        Entry entry = cache.getIfPresent(signature);
+        if (entry != null) {
+            return entry.ref;
+        }
+        SymbolReference<MethodDeclaration> ref = solver.get();
+        if (ref.isSolved()) {
+            Optional<String> declaringType = declaringTypeName(ref.getCorrespondingDeclaration());
+            // an entry which could not be evicted precisely is not cached
+            if (declaringType.isPresent()) {
+                Set<String> typeNames = new HashSet<>(signature.typeNames);
+                typeNames.add(declaringType.get());
+                cache.put(signature, new Entry(ref, typeNames));
+            }
+        }
+        return ref;
+    }
+
+    private static Optional<String> declaringTypeName(MethodDeclaration methodDeclaration) {
+        try {
+            return Optional.of(methodDeclaration.declaringType().getQualifiedName());
+        } catch (UnsupportedOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Forget the resolutions involving any of the given types, as receiver, argument, type parameter of those, or
+     * type declaring the method found.
+     */
+    public void evictTypes(Collection<String> qualifiedNames) {
+        if (qualifiedNames.isEmpty()) {
+            return;
+        }
+        declarations.asMap().values().removeIf((entry) -> !Collections.disjoint(entry.typeNames, qualifiedNames));
+    }
+
+    public void clear() {
+        declarations.invalidateAll();
+    }
+
+    /**
+     * Hits, misses and evictions of the method declarations resolved through the cache.
+     */
+    public CacheStats getDeclarationStats() {
+        return declarations.stats();
+    }
+
+    private static class Entry {
+        private final SymbolReference<MethodDeclaration> ref;
+        private final Set<String> typeNames;
+
+        private Entry(SymbolReference<MethodDeclaration> ref, Set<String> typeNames) {
+            this.ref = ref;
+            this.typeNames = typeNames;
+        }
+    }
+
+    private static class Signature {
+        private String receiver;
+        private String name;
+        private List<String> argumentTypes;
+        // qualified names of the reference types in the signature, not part of the key
+        private Set<String> typeNames;
+
+        private Signature(String receiver, String name, List<String> argumentTypes, Set<String> typeNames) {
+            this.receiver = receiver;
+            this.name = name;
+            this.argumentTypes = argumentTypes;
+            this.typeNames = typeNames;
+        }
+
+        static Optional<Signature> of(ReferenceTypeUsage receiver, String name, List<TypeUsage> argumentTypes) {
+            if (!isContextFree(receiver)) {
+                return Optional.empty();
+            }
+            Set<String> typeNames = new HashSet<>();
+            collectTypeNames(receiver, typeNames);
+            List<String> descriptions = new ArrayList<>(argumentTypes.size());
+            for (TypeUsage argumentType : argumentTypes) {
+                if (!isContextFree(argumentType)) {
+                    return Optional.empty();
+                }
+                descriptions.add(argumentType.describe());
+                collectTypeNames(argumentType, typeNames);
+            }
+            return Optional.of(new Signature(receiver.describe(), name, descriptions, typeNames));
+        }
+
+        private static void collectTypeNames(TypeUsage type, Set<String> typeNames) {
+            if (type instanceof ArrayTypeUsage) {
+                collectTypeNames(((ArrayTypeUsage) type).getComponentType(), typeNames);
+            } else if (type instanceof ReferenceTypeUsage) {
+                typeNames.add(type.asReferenceTypeUsage().getQualifiedName());
+                for (TypeUsage typeParameter : type.asReferenceTypeUsage().parameters()) {
+                    collectTypeNames(typeParameter, typeNames);
+                }
+            }
+        }
+
+        /**
+         * Is the description of the type enough to identify it, wherever it is used?
+         */
+        private static boolean isContextFree(TypeUsage type) {
+            if (type instanceof PrimitiveTypeUsage || type instanceof NullTypeUsage) {
+                return true;
+            } else if (type instanceof ArrayTypeUsage) {
+                return isContextFree(((ArrayTypeUsage) type).getComponentType());
+            } else if (type instanceof ReferenceTypeUsage) {
+                for (TypeUsage typeParameter : type.asReferenceTypeUsage().parameters()) {
+                    if (!isContextFree(typeParameter)) {
+                        return false;
+                    }
+                }
+                return true;
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Signature that = (Signature) o;
+
+            if (!receiver.equals(that.receiver)) return false;
+            if (!name.equals(that.name)) return false;
+            return argumentTypes.equals(that.argumentTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = receiver.hashCode();
+            result = 31 * result + name.hashCode();
+            result = 31 * result + argumentTypes.hashCode();
+            return result;
+        }
+    }
+}
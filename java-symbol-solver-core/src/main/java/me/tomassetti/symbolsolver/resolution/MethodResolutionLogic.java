@@ -89,7 +89,7 @@ public class MethodResolutionLogic {
                                                            Map<String, TypeUsage> matchedParameters) {
         if (actual.getQualifiedName().equals(expected.getQualifiedName())) {
             return isAssignableMatchTypeParametersMatchingQName(expected, actual, matchedParameters);
-        } else {
+        } else if (actual.isSubtypeOf(expected.getQualifiedName())) {
             List<ReferenceTypeUsage> ancestors = actual.getAllAncestors();
             for (ReferenceTypeUsage ancestor : ancestors) {
                 if (isAssignableMatchTypeParametersMatchingQName(expected, ancestor, matchedParameters)) {
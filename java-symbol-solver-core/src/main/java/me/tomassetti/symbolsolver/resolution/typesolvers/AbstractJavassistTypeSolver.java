@@ -0,0 +1,95 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+import me.tomassetti.symbolsolver.javassistmodel.JavassistFactory;
+import me.tomassetti.symbolsolver.model.declarations.TypeDeclaration;
+import me.tomassetti.symbolsolver.model.resolution.SymbolReference;
+import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Base of the type solvers reading class files through Javassist. Each solver owns a ClassPool, which is not
+ * thread-safe: subclasses use it only through the methods of this class.
+ *
+ * The declarations created are kept in a {@link TypeDeclarationCache}. As they refer to the root type solver, the
+ * cache is cleared when the parent changes.
+ */
+public abstract class AbstractJavassistTypeSolver implements TypeSolver {
+
+    private TypeSolver parent;
+    private final ClassPool classPool;
+    private final TypeDeclarationCache declarationCache = new TypeDeclarationCache();
+
+    protected AbstractJavassistTypeSolver(ClassPool classPool) {
+        this.classPool = classPool;
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+        // declarations refer to the root type solver, which may have changed
+        declarationCache.clear();
+    }
+
+    public TypeDeclarationCache getDeclarationCache() {
+        return declarationCache;
+    }
+
+    @Override
+    public SymbolReference<TypeDeclaration> tryToSolveType(String name) {
+        return declarationCache.get(name, this::tryToSolveTypeUncached);
+    }
+
+    private SymbolReference<TypeDeclaration> tryToSolveTypeUncached(String name) {
+        Optional<CtClass> ctClass = toCtClass(name);
+        if (!ctClass.isPresent()) {
+            return SymbolReference.unsolved(TypeDeclaration.class);
+        }
+        return SymbolReference.solved(JavassistFactory.toTypeDeclaration(ctClass.get(), getRoot()));
+    }
+
+    /**
+     * The class with the given qualified name (e.g., "java.util.Map.Entry"), if this solver contains it. Invoked
+     * only when the declaration is not cached.
+     */
+    protected abstract Optional<CtClass> toCtClass(String qualifiedName);
+
+    /**
+     * The class with the given binary name (e.g., "java.util.Map$Entry") as found by the pool, with its class file
+     * already read.
+     */
+    protected Optional<CtClass> getFromPool(String binaryName) {
+        synchronized (classPool) {
+            try {
+                CtClass ctClass = classPool.get(binaryName);
+                ctClass.getClassFile2();
+                return Optional.of(ctClass);
+            } catch (NotFoundException e) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * Decode the given class file. A detached class is not kept by the pool, only by the declarations using it.
+     */
+    protected CtClass makeClass(InputStream classFile, boolean detached) throws IOException {
+        synchronized (classPool) {
+            CtClass ctClass = classPool.makeClass(classFile);
+            if (detached) {
+                ctClass.detach();
+            }
+            return ctClass;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Solve the types compiled in a directory of class files (e.g., build/classes), without packaging them in a jar.
+ *
+ * The class files are found walking the directory once, when the solver is created: create a new solver to see
+ * the classes added later. Class files are decoded lazily and detached from the pool, so they are kept only as long
+ * as their declarations.
+ */
+public class ClassDirectoryTypeSolver extends AbstractJavassistTypeSolver {
+
+    private File classesDir;
+    // class name -> class file
+    private Map<String, Path> classFiles;
+
+    public ClassDirectoryTypeSolver(File classesDir) throws IOException {
+        super(classPoolFor(classesDir));
+        this.classesDir = classesDir;
+        this.classFiles = index(classesDir.toPath());
+    }
+
+    private static ClassPool classPoolFor(File classesDir) {
+        if (!classesDir.isDirectory()) {
+            throw new IllegalArgumentException("Not a directory: " + classesDir);
+        }
+        ClassPool classPool = new ClassPool(false);
+        try {
+            classPool.appendClassPath(classesDir.getPath());
+            classPool.appendSystemPath();
+        } catch (NotFoundException e) {
+            throw new RuntimeException(e);
+        }
+        return classPool;
+    }
+
+    private static Map<String, Path> index(Path root) throws IOException {
+        Map<String, Path> classFiles = new HashMap<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (attrs.isRegularFile() && file.getFileName().toString().endsWith(".class")) {
+                    String entryPath = root.relativize(file).toString().replace(File.separatorChar, '/');
+                    classFiles.putIfAbsent(JarIndex.entryPathToClassName(entryPath), file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return classFiles;
+    }
+
+    /**
+     * Number of class files found in the directory.
+     */
+    public int getClassFilesCount() {
+        return classFiles.size();
+    }
+
+    @Override
+    protected Optional<CtClass> toCtClass(String qualifiedName) {
+        Path classFile = classFiles.get(qualifiedName);
+        if (classFile == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(makeClass(new ByteArrayInputStream(Files.readAllBytes(classFile)), true));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ClassDirectoryTypeSolver{" +
+                "classesDir=" + classesDir +
+                ", parent=" + getParent() +
+                '}';
+    }
+}
@@ -0,0 +1,134 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import javassist.ClassPool;
+import javassist.CtClass;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Solve the types contained in a list of jars, searched in order as a classpath.
+ *
+ * All the jars share a single ClassPool, so the classes of the system path are loaded once for the whole
+ * classpath. The pool reads the classes of the jars, including the supertypes it loads on its own, through a single
+ * ClassPath backed by the indexes of the jars. Each class is decoded once: the pool keeps the CtClasses of the jars
+ * in a cache bounded by the total size of their class files, and forgets the ones evicted.
+ */
+public class ClasspathTypeSolver extends AbstractJavassistTypeSolver {
+
+    /**
+     * Default maximum total size, in bytes, of the class files whose CtClasses are kept.
+     */
+    public static final long DEFAULT_MAX_CLASSES_WEIGHT = 64 * 1024 * 1024;
+
+    private JarsClassPath jarsClassPath;
+    private WeighedClassPool classPool;
+
+    public ClasspathTypeSolver(List<String> pathsToJars) throws IOException {
+        this(pathsToJars, null, DEFAULT_MAX_CLASSES_WEIGHT);
+    }
+
+    /**
+     * @param indexDir         directory where the indexes of the jars are stored, see
+     *                         {@link JarTypeSolver#JarTypeSolver(String, File)}. If null they are only kept in
+     *                         memory.
+     * @param maxClassesWeight maximum total size, in bytes, of the class files whose CtClasses are kept
+     */
+    public ClasspathTypeSolver(List<String> pathsToJars, File indexDir, long maxClassesWeight) throws IOException {
+        this(new WeighedClassPool(JarsClassPath.open(pathsToJars, indexDir), maxClassesWeight));
+    }
+
+    private ClasspathTypeSolver(WeighedClassPool classPool) {
+        super(classPool);
+        this.classPool = classPool;
+        this.jarsClassPath = classPool.jarsClassPath;
+    }
+
+    /**
+     * A pool keeping the classes of the jars in the weighed cache instead of its own table, which keeps only the
+     * classes of the system path.
+     */
+    private static class WeighedClassPool extends ClassPool {
+        private final JarsClassPath jarsClassPath;
+        // class name, as known by javassist -> class decoded from the jars
+        private final Cache<String, CtClass> decodedClasses;
+
+        WeighedClassPool(JarsClassPath jarsClassPath, long maxClassesWeight) {
+            super(false);
+            this.jarsClassPath = jarsClassPath;
+            this.decodedClasses = CacheBuilder.newBuilder()
+                    .maximumWeight(maxClassesWeight)
+                    .<String, CtClass>weigher((className, ctClass) -> jarsClassPath.sizeOf(className))
+                    .recordStats()
+                    .build();
+            appendClassPath(jarsClassPath);
+            appendSystemPath();
+        }
+
+        @Override
+        protected CtClass getCached(String className) {
+            if (jarsClassPath.contains(className)) {
+                return decodedClasses.getIfPresent(className);
+            }
+            return super.getCached(className);
+        }
+
+        @Override
+        protected void cacheCtClass(String className, CtClass ctClass, boolean dynamic) {
+            if (jarsClassPath.contains(className)) {
+                decodedClasses.put(className, ctClass);
+            } else {
+                super.cacheCtClass(className, ctClass, dynamic);
+            }
+        }
+
+        @Override
+        protected CtClass removeCached(String className) {
+            CtClass removed = decodedClasses.asMap().remove(className);
+            return removed == null ? super.removeCached(className) : removed;
+        }
+    }
+
+    /**
+     * Hits, misses and evictions of the decoded classes.
+     */
+    public CacheStats getClassesStats() {
+        return classPool.decodedClasses.stats();
+    }
+
+    /**
+     * Number of classes of the jars currently kept.
+     */
+    public long getClassesCount() {
+        return classPool.decodedClasses.size();
+    }
+
+    /**
+     * Close the jars opened, which are opened again if a class has to be read from them.
+     */
+    public void close() {
+        jarsClassPath.close();
+    }
+
+    @Override
+    protected Optional<CtClass> toCtClass(String qualifiedName) {
+        Optional<String> binaryName = jarsClassPath.toBinaryName(qualifiedName);
+        if (!binaryName.isPresent()) {
+            return Optional.empty();
+        }
+        return getFromPool(binaryName.get());
+    }
+
+    @Override
+    public String toString() {
+        return "ClasspathTypeSolver{" +
+                "jars=" + jarsClassPath.getJarsCount() +
+                ", parent=" + getParent() +
+                '}';
+    }
+}
@@ -1,19 +1,52 @@
 package me.tomassetti.symbolsolver.resolution.typesolvers;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import me.tomassetti.symbolsolver.model.declarations.TypeDeclaration;
 import me.tomassetti.symbolsolver.model.resolution.SymbolReference;
 import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
 import me.tomassetti.symbolsolver.javaparsermodel.UnsolvedSymbolException;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * A TypeSolver which asks in turn to each of its elements.
+ *
+ * Optionally (see {@link #CombinedTypeSolver(long, TypeSolver...)}) it remembers, for each element, the names which
+ * that element could not solve, so that the same failing probe is not repeated. The cache must be cleared through
+ * the invalidate methods when new types are added to one of the elements;
+ * {@link me.tomassetti.symbolsolver.javaparsermodel.JavaParserFacade#invalidate} clears it when this is the root
+ * type solver of the facade.
+ *
+ * It is thread-safe as long as its elements are. Elements should be added before it is shared between threads.
+ */
 public class CombinedTypeSolver implements TypeSolver {
 
+    /**
+     * Suggested maximum number of unsolved names remembered for each element.
+     */
+    public static final long DEFAULT_UNSOLVED_CACHE_SIZE = 10000;
+
     private TypeSolver parent;
-    private List<TypeSolver> elements = new ArrayList<>();
+    private List<TypeSolver> elements = new CopyOnWriteArrayList<>();
+    private List<Cache<String, Boolean>> unsolvedNames = new CopyOnWriteArrayList<>();
+    private long unsolvedCacheSize;
+    private AtomicLong shortCircuitedProbes = new AtomicLong();
 
+    /**
+     * A solver which does not remember the names not solved.
+     */
     public CombinedTypeSolver(TypeSolver... elements) {
+        this(0, elements);
+    }
+
+    /**
+     * @param unsolvedCacheSize maximum number of unsolved names remembered for each element, 0 to remember none
+     */
+    public CombinedTypeSolver(long unsolvedCacheSize, TypeSolver... elements) {
+        this.unsolvedCacheSize = unsolvedCacheSize;
         for (TypeSolver el : elements) {
             add(el);
         }
@@ -30,16 +63,53 @@ public class CombinedTypeSolver implements TypeSolver {
     }
 
     public void add(TypeSolver typeSolver) {
+        if (unsolvedCacheSize > 0) {
+            // the cache is added first, so that there is always one for each element
+            this.unsolvedNames.add(CacheBuilder.newBuilder().maximumSize(unsolvedCacheSize).<String, Boolean>build());
+        }
         this.elements.add(typeSolver);
         typeSolver.setParent(this);
     }
 
+    /**
+     * Forget all the names which were not solved by the elements.
+     */
+    public void invalidateCache() {
+        for (Cache<String, Boolean> cache : unsolvedNames) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Forget that the given name was not solved by the elements.
+     */
+    public void invalidateCache(String name) {
+        for (Cache<String, Boolean> cache : unsolvedNames) {
+            cache.invalidate(name);
+        }
+    }
+
+    /**
+     * Number of requests to the elements which were avoided because the element was already known not to solve
+     * the name.
+     */
+    public long getShortCircuitedProbes() {
+        return shortCircuitedProbes.get();
+    }
+
     @Override
     public SymbolReference<TypeDeclaration> tryToSolveType(String name) {
-        for (TypeSolver ts : elements) {
-            SymbolReference<TypeDeclaration> res = ts.tryToSolveType(name);
+        for (int i = 0; i < elements.size(); i++) {
+            Cache<String, Boolean> unsolvedByElement = unsolvedCacheSize > 0 ? unsolvedNames.get(i) : null;
+            if (unsolvedByElement != null && unsolvedByElement.getIfPresent(name) != null) {
+                shortCircuitedProbes.incrementAndGet();
+                continue;
+            }
+            SymbolReference<TypeDeclaration> res = elements.get(i).tryToSolveType(name);
             if (res.isSolved()) {
                 return res;
+            } else if (unsolvedByElement != null) {
+                unsolvedByElement.put(name, Boolean.TRUE);
             }
         }
         return SymbolReference.unsolved(TypeDeclaration.class);
@@ -0,0 +1,242 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Optional;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32;
+
+/**
+ * Compact index of the classes contained in a jar: class names sorted as UTF-8 byte strings, each one
+ * followed by the name of the corresponding jar entry.
+ *
+ * The index can be written to disk and memory-mapped on later runs, in which case it is checked against a
+ * checksum of the jar. Lookups are binary searches over the buffer, so almost nothing is kept on the heap.
+ *
+ * Layout: magic, version, checksum of the jar, number of classes, one offset per class pointing to its record,
+ * records. Each record is the length and bytes of the class name followed by the length and bytes of the entry
+ * name.
+ */
+class JarIndex {
+
+    private static final int MAGIC = 0x4A534A49;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4;
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054B50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    private ByteBuffer buffer;
+    private int size;
+
+    private JarIndex(ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a jar index");
+        }
+        this.buffer = buffer;
+        this.size = buffer.getInt(16);
+    }
+
+    /**
+     * Build the index in memory, without storing it.
+     */
+    static JarIndex build(File jar) throws IOException {
+        return new JarIndex(ByteBuffer.wrap(content(jar, checksum(jar))));
+    }
+
+    /**
+     * Memory-map the index stored in indexFile, if it corresponds to the current content of the jar.
+     * Otherwise build it and store it in indexFile first.
+     */
+    static JarIndex open(File jar, File indexFile) throws IOException {
+        long checksum = checksum(jar);
+        if (indexFile.exists()) {
+            try {
+                JarIndex index = map(indexFile);
+                if (index.checksum() == checksum) {
+                    return index;
+                }
+            } catch (IOException e) {
+                // corrupted or obsolete index: it will be rebuilt
+            }
+        }
+        File tmpFile = new File(indexFile.getPath() + ".tmp");
+        Files.write(tmpFile.toPath(), content(jar, checksum));
+        Files.move(tmpFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return map(indexFile);
+    }
+
+    private static JarIndex map(File indexFile) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(indexFile, "r")) {
+            return new JarIndex(file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length()));
+        }
+    }
+
+    /**
+     * Checksum of the central directory of the jar, which lists name, size and CRC of every entry: it changes
+     * whenever any entry changes, without reading the whole jar. Jars whose central directory cannot be located
+     * (e.g., zip64 ones) are checksummed entirely.
+     */
+    static long checksum(File jar) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(jar, "r")) {
+            long length = file.length();
+            long start = 0;
+            long end = length;
+            int tailLength = (int) Math.min(length, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_SIZE);
+            byte[] tail = new byte[tailLength];
+            file.seek(length - tailLength);
+            file.readFully(tail);
+            ByteBuffer tailBuffer = ByteBuffer.wrap(tail).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = tailLength - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+                if (tailBuffer.getInt(i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                    long centralDirectorySize = tailBuffer.getInt(i + 12) & 0xFFFFFFFFL;
+                    long centralDirectoryOffset = tailBuffer.getInt(i + 16) & 0xFFFFFFFFL;
+                    if (centralDirectoryOffset + centralDirectorySize <= length - tailLength + i) {
+                        start = centralDirectoryOffset;
+                    }
+                    break;
+                }
+            }
+            CRC32 crc = new CRC32();
+            byte[] chunk = new byte[64 * 1024];
+            file.seek(start);
+            for (long remaining = end - start; remaining > 0; ) {
+                int read = file.read(chunk, 0, (int) Math.min(chunk.length, remaining));
+                if (read < 0) {
+                    break;
+                }
+                crc.update(chunk, 0, read);
+                remaining -= read;
+            }
+            return (length << 32) ^ crc.getValue();
+        }
+    }
+
+    private static byte[] content(File jar, long checksum) throws IOException {
+        List<byte[][]> records = new ArrayList<>();
+        try (JarFile jarFile = new JarFile(jar)) {
+            for (Enumeration<JarEntry> e = jarFile.entries(); e.hasMoreElements(); ) {
+                JarEntry entry = e.nextElement();
+                if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
+                    records.add(new byte[][]{
+                            entryPathToClassName(entry.getName()).getBytes(StandardCharsets.UTF_8),
+                            entry.getName().getBytes(StandardCharsets.UTF_8)});
+                }
+            }
+        }
+        records.sort((a, b) -> compare(a[0], b[0]));
+
+        List<byte[][]> uniqueRecords = new ArrayList<>();
+        for (byte[][] record : records) {
+            if (uniqueRecords.isEmpty() || compare(uniqueRecords.get(uniqueRecords.size() - 1)[0], record[0]) != 0) {
+                uniqueRecords.add(record);
+            }
+        }
+
+        int recordsSize = 0;
+        for (byte[][] record : uniqueRecords) {
+            recordsSize += 4 + record[0].length + 4 + record[1].length;
+        }
+        ByteBuffer content = ByteBuffer.allocate(HEADER_SIZE + 4 * uniqueRecords.size() + recordsSize);
+        content.putInt(MAGIC);
+        content.putInt(VERSION);
+        content.putLong(checksum);
+        content.putInt(uniqueRecords.size());
+        int offset = HEADER_SIZE + 4 * uniqueRecords.size();
+        for (byte[][] record : uniqueRecords) {
+            content.putInt(offset);
+            offset += 4 + record[0].length + 4 + record[1].length;
+        }
+        for (byte[][] record : uniqueRecords) {
+            content.putInt(record[0].length);
+            content.put(record[0]);
+            content.putInt(record[1].length);
+            content.put(record[1]);
+        }
+        return content.array();
+    }
+
+    static String entryPathToClassName(String entryPath) {
+        if (!entryPath.endsWith(".class")) {
+            throw new IllegalStateException();
+        }
+        String className = entryPath.substring(0, entryPath.length() - ".class".length());
+        className = className.replace('/', '.');
+        className = className.replace('$', '.');
+        return className;
+    }
+
+    private static int compare(byte[] a, byte[] b) {
+        int n = Math.min(a.length, b.length);
+        for (int i = 0; i < n; i++) {
+            int diff = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    /**
+     * Compare the class name of the record at the given offset with the given name, without copying it.
+     */
+    private int compareAt(int recordOffset, byte[] name) {
+        int length = buffer.getInt(recordOffset);
+        int start = recordOffset + 4;
+        int n = Math.min(length, name.length);
+        for (int i = 0; i < n; i++) {
+            int diff = (buffer.get(start + i) & 0xFF) - (name[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - name.length;
+    }
+
+    long checksum() {
+        return buffer.getLong(8);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Find the name of the jar entry containing the given class.
+     */
+    Optional<String> lookup(String className) {
+        byte[] name = className.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int recordOffset = buffer.getInt(HEADER_SIZE + 4 * middle);
+            int comparison = compareAt(recordOffset, name);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                int entryOffset = recordOffset + 4 + buffer.getInt(recordOffset);
+                byte[] entryName = new byte[buffer.getInt(entryOffset)];
+                for (int i = 0; i < entryName.length; i++) {
+                    entryName[i] = buffer.get(entryOffset + 4 + i);
+                }
+                return Optional.of(new String(entryName, StandardCharsets.UTF_8));
+            }
+        }
+        return Optional.empty();
+    }
+}
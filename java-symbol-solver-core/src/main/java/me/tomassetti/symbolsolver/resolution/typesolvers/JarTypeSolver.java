@@ -2,103 +2,75 @@ package me.tomassetti.symbolsolver.resolution.typesolvers;
 
 import javassist.ClassPool;
 import javassist.CtClass;
-import javassist.NotFoundException;
-import me.tomassetti.symbolsolver.javassistmodel.JavassistFactory;
-import me.tomassetti.symbolsolver.model.declarations.TypeDeclaration;
-import me.tomassetti.symbolsolver.model.resolution.SymbolReference;
-import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
-import me.tomassetti.symbolsolver.javaparsermodel.UnsolvedSymbolException;
-import me.tomassetti.symbolsolver.javassistmodel.JavassistClassDeclaration;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.util.Enumeration;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.Collections;
+import java.util.Optional;
 
-public class JarTypeSolver implements TypeSolver {
+/**
+ * Solve the types contained in a jar. The classes are found through an index of the jar, see
+ * {@link #JarTypeSolver(String, File)}: the jar is opened only when a class has to be read from it. Call
+ * {@link #close()} to close it when the solver is not needed anymore.
+ */
+public class JarTypeSolver extends AbstractJavassistTypeSolver {
 
-    private TypeSolver parent;
-    private Map<String, ClasspathElement> classpathElements = new HashMap<>();
-    private ClassPool classPool = new ClassPool(false);
+    private String pathToJar;
+    private JarsClassPath classPath;
 
     public JarTypeSolver(String pathToJar) throws IOException {
-        try {
-            classPool.appendClassPath(pathToJar);
-            classPool.appendSystemPath();
-        } catch (NotFoundException e) {
-            throw new RuntimeException(e);
-        }
-        JarFile jarFile = new JarFile(pathToJar);
-        JarEntry entry = null;
-        for (Enumeration<JarEntry> e = jarFile.entries(); e.hasMoreElements(); entry = e.nextElement()) {
-            if (entry != null && !entry.isDirectory() && entry.getName().endsWith(".class")) {
-                String name = entryPathToClassName(entry.getName());
-                classpathElements.put(name, new ClasspathElement(jarFile, entry, name));
-            }
-        }
+        this(pathToJar, (File) null);
     }
 
-    @Override
-    public TypeSolver getParent() {
-        return parent;
+    /**
+     * @param indexDir directory where the index of the jar is stored, so that later runs can memory-map it
+     *                 instead of reading all the entries of the jar. If null the index is only kept in memory.
+     */
+    public JarTypeSolver(String pathToJar, File indexDir) throws IOException {
+        this(pathToJar, JarsClassPath.open(Collections.singletonList(pathToJar), indexDir));
     }
 
-    @Override
-    public void setParent(TypeSolver parent) {
-        this.parent = parent;
+    private JarTypeSolver(String pathToJar, JarsClassPath classPath) {
+        super(classPoolFor(classPath));
+        this.pathToJar = pathToJar;
+        this.classPath = classPath;
     }
 
-    private String entryPathToClassName(String entryPath) {
-        if (!entryPath.endsWith(".class")) {
-            throw new IllegalStateException();
-        }
-        String className = entryPath.substring(0, entryPath.length() - ".class".length());
-        className = className.replaceAll("/", ".");
-        className = className.replaceAll("\\$", ".");
-        return className;
+    private static ClassPool classPoolFor(JarsClassPath classPath) {
+        ClassPool classPool = new ClassPool(false);
+        classPool.appendClassPath(classPath);
+        classPool.appendSystemPath();
+        return classPool;
     }
 
-    @Override
-    public SymbolReference<TypeDeclaration> tryToSolveType(String name) {
-        try {
-            if (classpathElements.containsKey(name)) {
-                return SymbolReference.solved(JavassistFactory.toTypeDeclaration(classpathElements.get(name).toCtClass(), getRoot()));
-            } else {
-                return SymbolReference.unsolved(TypeDeclaration.class);
-            }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+    /**
+     * Jars with the same name can be found in different directories, so the path is part of the name.
+     */
+    static String indexFileName(File jar) {
+        return jar.getName() + "-" + Integer.toHexString(jar.getAbsolutePath().hashCode()) + ".idx";
     }
 
-    @Override
-    public TypeDeclaration solveType(String name) throws UnsolvedSymbolException {
-        SymbolReference<TypeDeclaration> ref = tryToSolveType(name);
-        if (ref.isSolved()) {
-            return ref.getCorrespondingDeclaration();
-        } else {
-            throw new UnsolvedSymbolException(name);
-        }
+    /**
+     * Close the jar, which is opened again if a class has to be read from it.
+     */
+    public void close() {
+        classPath.close();
     }
 
-    private class ClasspathElement {
-        private JarFile jarFile;
-        private JarEntry entry;
-        private String path;
-
-        public ClasspathElement(JarFile jarFile, JarEntry entry, String path) {
-            this.jarFile = jarFile;
-            this.entry = entry;
-            this.path = path;
+    @Override
+    protected Optional<CtClass> toCtClass(String qualifiedName) {
+        Optional<String> binaryName = classPath.toBinaryName(qualifiedName);
+        if (!binaryName.isPresent()) {
+            return Optional.empty();
         }
+        return getFromPool(binaryName.get());
+    }
 
-        CtClass toCtClass() throws IOException {
-            InputStream is = jarFile.getInputStream(entry);
-            CtClass ctClass = classPool.makeClass(is);
-            return ctClass;
-        }
+    @Override
+    public String toString() {
+        return "JarTypeSolver{" +
+                "pathToJar=" + pathToJar +
+                ", parent=" + getParent() +
+                '}';
     }
 }
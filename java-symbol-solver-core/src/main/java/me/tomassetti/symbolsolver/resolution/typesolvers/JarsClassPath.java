@@ -0,0 +1,160 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import javaslang.Tuple2;
+import javassist.ClassPath;
+import javassist.NotFoundException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.jar.JarFile;
+
+/**
+ * The classes of a list of jars, searched in order, as a Javassist class path. Classes are found through the
+ * indexes of the jars: a jar is opened only when a class has to be read from it, and only once.
+ */
+class JarsClassPath implements ClassPath {
+
+    private final List<Jar> jars;
+
+    private JarsClassPath(List<Jar> jars) {
+        this.jars = jars;
+    }
+
+    /**
+     * @param indexDir directory where the indexes of the jars are stored, see
+     *                 {@link JarTypeSolver#JarTypeSolver(String, File)}. If null they are only kept in memory.
+     */
+    static JarsClassPath open(List<String> pathsToJars, File indexDir) throws IOException {
+        List<Jar> jars = new ArrayList<>();
+        for (String pathToJar : pathsToJars) {
+            File jar = new File(pathToJar);
+            JarIndex index = indexDir == null ? JarIndex.build(jar)
+                    : JarIndex.open(jar, new File(indexDir, JarTypeSolver.indexFileName(jar)));
+            jars.add(new Jar(jar, index));
+        }
+        return new JarsClassPath(jars);
+    }
+
+    private static class Jar {
+        private final File file;
+        private final JarIndex index;
+        private JarFile jarFile;
+
+        Jar(File file, JarIndex index) {
+            this.file = file;
+            this.index = index;
+        }
+
+        synchronized JarFile getJarFile() throws IOException {
+            if (jarFile == null) {
+                jarFile = new JarFile(file);
+            }
+            return jarFile;
+        }
+
+        synchronized void close() throws IOException {
+            if (jarFile != null) {
+                jarFile.close();
+                jarFile = null;
+            }
+        }
+    }
+
+    int getJarsCount() {
+        return jars.size();
+    }
+
+    /**
+     * The binary name (e.g., "foo.Bar$Baz") of the class with the given qualified name (e.g., "foo.Bar.Baz"), if
+     * one of the jars contains it.
+     */
+    Optional<String> toBinaryName(String qualifiedName) {
+        for (Jar jar : jars) {
+            Optional<String> entryName = jar.index.lookup(qualifiedName);
+            if (entryName.isPresent()) {
+                String entry = entryName.get();
+                return Optional.of(entry.substring(0, entry.length() - ".class".length()).replace('/', '.'));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The jar containing the given class, with the name of its entry.
+     */
+    private Optional<Tuple2<Jar, String>> lookup(String className) {
+        String entryName = className.replace('.', '/') + ".class";
+        for (Jar jar : jars) {
+            // the index knows nested classes by their canonical names
+            Optional<String> found = jar.index.lookup(className.replace('$', '.'));
+            if (found.isPresent() && found.get().equals(entryName)) {
+                return Optional.of(new Tuple2<>(jar, entryName));
+            }
+        }
+        return Optional.empty();
+    }
+
+    boolean contains(String className) {
+        return lookup(className).isPresent();
+    }
+
+    /**
+     * Size of the class file of the given class, at least 1.
+     */
+    int sizeOf(String className) {
+        Tuple2<Jar, String> found = lookup(className).get();
+        try {
+            long size = found._1.getJarFile().getJarEntry(found._2).getSize();
+            return (int) Math.max(1, Math.min(Integer.MAX_VALUE, size));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public InputStream openClassfile(String className) throws NotFoundException {
+        Optional<Tuple2<Jar, String>> found = lookup(className);
+        if (!found.isPresent()) {
+            return null;
+        }
+        try {
+            JarFile jarFile = found.get()._1.getJarFile();
+            return jarFile.getInputStream(jarFile.getJarEntry(found.get()._2));
+        } catch (IOException e) {
+            throw new NotFoundException("broken jar file?: " + found.get()._1.file, e);
+        }
+    }
+
+    @Override
+    public URL find(String className) {
+        Optional<Tuple2<Jar, String>> found = lookup(className);
+        if (!found.isPresent()) {
+            return null;
+        }
+        try {
+            return new URL("jar:" + found.get()._1.file.toURI() + "!/" + found.get()._2);
+        } catch (MalformedURLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Close the jars opened. They are opened again if a class has to be read.
+     */
+    @Override
+    public void close() {
+        for (Jar jar : jars) {
+            try {
+                jar.close();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
@@ -3,27 +3,56 @@ package me.tomassetti.symbolsolver.resolution.typesolvers;
 import com.github.javaparser.JavaParser;
 import com.github.javaparser.ParseException;
 import com.github.javaparser.ast.CompilationUnit;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import me.tomassetti.symbolsolver.javaparser.Navigator;
 import me.tomassetti.symbolsolver.model.declarations.TypeDeclaration;
 import me.tomassetti.symbolsolver.model.resolution.SymbolReference;
 import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
+import me.tomassetti.symbolsolver.javaparsermodel.DependencyTracker;
 import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFacade;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 
 /**
  * @author Federico Tomassetti
  */
 public class JavaParserTypeSolver implements TypeSolver {
 
+    /**
+     * Default maximum number of parsed compilation units kept in memory.
+     */
+    public static final long DEFAULT_CACHE_SIZE = 1000;
+
     private File srcDir;
 
     private TypeSolver parent;
 
+    private Cache<File, ParsedFile> parsedFiles;
+
+    private volatile SourceFileIndex index;
+
     public JavaParserTypeSolver(File srcDir) {
+        this(srcDir, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param cacheSize maximum number of parsed compilation units to keep. The least recently used ones are
+     *                  discarded first.
+     */
+    public JavaParserTypeSolver(File srcDir, long cacheSize) {
         this.srcDir = srcDir;
+        this.parsedFiles = CacheBuilder.newBuilder().maximumSize(cacheSize).recordStats().build();
     }
 
     @Override
@@ -44,6 +73,60 @@ public class JavaParserTypeSolver implements TypeSolver {
         this.parent = parent;
     }
 
+    /**
+     * Hits, misses and evictions of the cache of parsed compilation units.
+     */
+    public CacheStats getCacheStats() {
+        return parsedFiles.stats();
+    }
+
+    /**
+     * Discard all the parsed compilation units.
+     */
+    public void clearCache() {
+        parsedFiles.invalidateAll();
+    }
+
+    /**
+     * Walk the source directory once and record all the types declared, nested types included.
+     * From then on lookups do not touch the file system unless the type is found and its file must be parsed.
+     * The index is not updated when files are added or removed: in that case it should be built again. Until then
+     * the types of the files removed are not solved. Files which cannot be parsed are skipped (see
+     * {@link #getUnparsableFiles()}).
+     */
+    public void buildIndex() {
+        this.index = SourceFileIndex.build(srcDir);
+    }
+
+    /**
+     * Write the index to the given file, so that it can be reused through {@link #loadIndex(File)}.
+     */
+    public void saveIndex(File indexFile) throws IOException {
+        if (index == null) {
+            throw new IllegalStateException("No index has been built or loaded");
+        }
+        index.save(indexFile);
+    }
+
+    /**
+     * Use an index written by {@link #saveIndex(File)}, instead of building it again.
+     */
+    public void loadIndex(File indexFile) throws IOException {
+        this.index = SourceFileIndex.load(srcDir, indexFile);
+    }
+
+    public boolean isIndexed() {
+        return index != null;
+    }
+
+    /**
+     * The files skipped by {@link #buildIndex()} because they could not be parsed.
+     */
+    public List<File> getUnparsableFiles() {
+        SourceFileIndex current = index;
+        return current == null ? Collections.emptyList() : Collections.unmodifiableList(current.getUnparsableFiles());
+    }
+
     private String simpleName(String name) {
         int index = name.lastIndexOf('.');
         if (index == -1) {
@@ -53,21 +136,42 @@ public class JavaParserTypeSolver implements TypeSolver {
         }
     }
 
+    /**
+     * Parse the given file, reusing the previous result if the file did not change since it was parsed.
+     */
+    private ParsedFile parse(File srcFile) throws ParseException, IOException {
+        long lastModified = srcFile.lastModified();
+        long length = srcFile.length();
+        ParsedFile cached = parsedFiles.asMap().get(srcFile);
+        if (cached != null && !cached.isUpToDate(lastModified, length)) {
+            parsedFiles.invalidate(srcFile);
+        }
+        try {
+            return parsedFiles.get(srcFile, () -> new ParsedFile(JavaParser.parse(srcFile), lastModified, length));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ParseException) {
+                throw (ParseException) e.getCause();
+            } else if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+
     @Override
     public SymbolReference<TypeDeclaration> tryToSolveType(String name) {
+        if (index != null) {
+            return tryToSolveTypeUsingIndex(name);
+        }
         // TODO support internal classes
         // TODO support enums
         // TODO support interfaces
         File srcFile = new File(srcDir.getAbsolutePath() + "/" + name.replaceAll("\\.", "/") + ".java");
         if (srcFile.exists()) {
             try {
-                CompilationUnit compilationUnit = JavaParser.parse(srcFile);
-                Optional<com.github.javaparser.ast.body.TypeDeclaration> astTypeDeclaration = Navigator.findType(compilationUnit, simpleName(name));
-                if (!astTypeDeclaration.isPresent()) {
-                    return SymbolReference.unsolved(TypeDeclaration.class);
-                }
-                TypeDeclaration typeDeclaration = JavaParserFacade.get(this).getTypeDeclaration(astTypeDeclaration.get());
-                return SymbolReference.solved(typeDeclaration);
+                ParsedFile parsedFile = parse(srcFile);
+                return parsedFile.declaration(name, () -> Navigator.findType(parsedFile.compilationUnit, simpleName(name)));
             } catch (ParseException e) {
                 throw new RuntimeException(e);
             } catch (IOException e) {
@@ -78,4 +182,58 @@ public class JavaParserTypeSolver implements TypeSolver {
         }
     }
 
+    private SymbolReference<TypeDeclaration> tryToSolveTypeUsingIndex(String name) {
+        Optional<SourceFileIndex.Entry> entry = index.lookup(name);
+        if (!entry.isPresent()) {
+            return SymbolReference.unsolved(TypeDeclaration.class);
+        }
+        try {
+            ParsedFile parsedFile = parse(entry.get().getFile());
+            return parsedFile.declaration(name, () -> entry.get().findIn(parsedFile.compilationUnit));
+        } catch (FileNotFoundException e) {
+            // removed since the index was built
+            return SymbolReference.unsolved(TypeDeclaration.class);
+        } catch (ParseException e) {
+            throw new RuntimeException(e);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * A parsed compilation unit together with the state of the file at the time it was parsed, and the canonical
+     * declarations of the types solved in it: they are discarded with the compilation unit.
+     */
+    private class ParsedFile {
+        private CompilationUnit compilationUnit;
+        private long lastModified;
+        private long length;
+        private Map<String, TypeDeclaration> declarations = new ConcurrentHashMap<>();
+
+        ParsedFile(CompilationUnit compilationUnit, long lastModified, long length) {
+            this.compilationUnit = compilationUnit;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        boolean isUpToDate(long lastModified, long length) {
+            return this.lastModified == lastModified && this.length == length;
+        }
+
+        SymbolReference<TypeDeclaration> declaration(String name, Supplier<Optional<com.github.javaparser.ast.body.TypeDeclaration>> finder) {
+            TypeDeclaration declaration = declarations.get(name);
+            if (declaration == null) {
+                Optional<com.github.javaparser.ast.body.TypeDeclaration> astTypeDeclaration = finder.get();
+                if (!astTypeDeclaration.isPresent()) {
+                    return SymbolReference.unsolved(TypeDeclaration.class);
+                }
+                declaration = declarations.computeIfAbsent(name,
+                        (n) -> JavaParserFacade.get(getRoot()).getTypeDeclaration(astTypeDeclaration.get()));
+            } else {
+                DependencyTracker.recordUse(declaration);
+            }
+            return SymbolReference.solved(declaration);
+        }
+    }
+
 }
@@ -0,0 +1,406 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import javassist.ClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.ProviderNotFoundException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Solve the types of a JDK reading its class files, instead of loading the classes in the running JVM as
+ * {@link JreTypeSolver} does: no static initializer is run and the types do not depend on the JDK running the
+ * solver.
+ *
+ * The class files are read from the jrt:/ image of a modular JDK, from the rt.jar of an older one, or from the
+ * ct.sym of a JDK for one of the releases it can compile for. The packages (or the classes, for rt.jar and
+ * ct.sym) are indexed when the solver is created; classes are decoded only when their members are needed.
+ *
+ * Call {@link #close()} when the solver is not needed anymore, to close the files it opened.
+ */
+public class JdkTypeSolver extends AbstractJavassistTypeSolver {
+
+    private JdkClassPath classPath;
+
+    /**
+     * The JDK running the solver.
+     */
+    public JdkTypeSolver() throws IOException {
+        this(new File(System.getProperty("java.home")));
+    }
+
+    /**
+     * The JDK installed in javaHome: its jrt:/ image if it is modular, its rt.jar otherwise.
+     */
+    public JdkTypeSolver(File javaHome) throws IOException {
+        this(classPathOf(javaHome));
+    }
+
+    /**
+     * The API of an older release (e.g., 8), as recorded in the ct.sym of the JDK installed in javaHome.
+     */
+    public JdkTypeSolver(File javaHome, int release) throws IOException {
+        this(ZipClassPath.openCtSym(new File(javaHome, "lib/ct.sym"), release));
+    }
+
+    private JdkTypeSolver(JdkClassPath classPath) {
+        super(classPoolFor(classPath));
+        this.classPath = classPath;
+        getDeclarationCache().pin(TypeDeclarationCache.HOT_JDK_TYPES);
+    }
+
+    private static ClassPool classPoolFor(JdkClassPath classPath) {
+        ClassPool classPool = new ClassPool(false);
+        // supertypes are read from the same JDK, not from the one running the solver
+        classPool.appendClassPath(classPath);
+        return classPool;
+    }
+
+    private static JdkClassPath classPathOf(File javaHome) throws IOException {
+        if (new File(javaHome, "lib/modules").isFile()) {
+            return JrtClassPath.open(javaHome);
+        }
+        for (String rtJar : new String[]{"lib/rt.jar", "jre/lib/rt.jar"}) {
+            if (new File(javaHome, rtJar).isFile()) {
+                return ZipClassPath.openJar(new File(javaHome, rtJar));
+            }
+        }
+        throw new IllegalArgumentException("Neither a jrt:/ image nor rt.jar found in " + javaHome);
+    }
+
+    @Override
+    protected Optional<CtClass> toCtClass(String qualifiedName) {
+        Optional<String> binaryName = classPath.toBinaryName(qualifiedName);
+        if (!binaryName.isPresent()) {
+            return Optional.empty();
+        }
+        return getFromPool(binaryName.get());
+    }
+
+    /**
+     * Close the files opened to read the JDK. The jrt:/ file system of the JDK running the solver is shared, so it
+     * is left open.
+     */
+    public void close() {
+        classPath.close();
+    }
+
+    @Override
+    public String toString() {
+        return "JdkTypeSolver{" +
+                "classPath=" + classPath +
+                ", parent=" + getParent() +
+                '}';
+    }
+
+    /**
+     * The class files of a JDK, as a Javassist class path.
+     */
+    private interface JdkClassPath extends ClassPath {
+
+        /**
+         * The binary name (e.g., "java.util.Map$Entry") of the class with the given qualified name
+         * (e.g., "java.util.Map.Entry"), if the class is part of the JDK.
+         */
+        Optional<String> toBinaryName(String qualifiedName);
+    }
+
+    /**
+     * The jrt:/ image of a modular JDK, with an index from each package to the module containing it. The classes
+     * of a package are listed the first time the package is searched, so that names which are not classes are
+     * rejected without reading the image again.
+     */
+    private static class JrtClassPath implements JdkClassPath {
+        private final File javaHome;
+        private final FileSystem fileSystem;
+        // file system and class loader opened for this class path, null when shared
+        private final FileSystem ownedFileSystem;
+        private final URLClassLoader ownedClassLoader;
+        private final Map<String, String> modulesByPackage = new HashMap<>();
+        // package -> binary names of its classes, without the package (e.g., "Map$Entry")
+        private final Map<String, Set<String>> classesByPackage = new ConcurrentHashMap<>();
+
+        private JrtClassPath(File javaHome, FileSystem fileSystem, boolean ownsFileSystem, URLClassLoader ownedClassLoader) throws IOException {
+            this.javaHome = javaHome;
+            this.fileSystem = fileSystem;
+            this.ownedFileSystem = ownsFileSystem ? fileSystem : null;
+            this.ownedClassLoader = ownedClassLoader;
+            try (DirectoryStream<Path> packages = Files.newDirectoryStream(fileSystem.getPath("/packages"))) {
+                for (Path packageDir : packages) {
+                    try (DirectoryStream<Path> modules = Files.newDirectoryStream(packageDir)) {
+                        for (Path module : modules) {
+                            modulesByPackage.putIfAbsent(packageDir.getFileName().toString(), module.getFileName().toString());
+                        }
+                    }
+                }
+            }
+        }
+
+        static JrtClassPath open(File javaHome) throws IOException {
+            URI jrt = URI.create("jrt:/");
+            File runningJavaHome = new File(System.getProperty("java.home"));
+            if (javaHome.getCanonicalFile().equals(runningJavaHome.getCanonicalFile())) {
+                return new JrtClassPath(javaHome, FileSystems.getFileSystem(jrt), false, null);
+            }
+            Map<String, String> env = Collections.singletonMap("java.home", javaHome.getPath());
+            FileSystem fileSystem;
+            URLClassLoader classLoader = null;
+            try {
+                fileSystem = FileSystems.newFileSystem(jrt, env);
+            } catch (ProviderNotFoundException e) {
+                // a JDK without jrt:/ support runs the solver: use the provider shipped with the image
+                URL jrtFs = new File(javaHome, "lib/jrt-fs.jar").toURI().toURL();
+                classLoader = new URLClassLoader(new URL[]{jrtFs});
+                try {
+                    fileSystem = FileSystems.newFileSystem(jrt, env, classLoader);
+                } catch (IOException | RuntimeException e2) {
+                    classLoader.close();
+                    throw e2;
+                }
+            }
+            try {
+                return new JrtClassPath(javaHome, fileSystem, true, classLoader);
+            } catch (IOException | RuntimeException e) {
+                fileSystem.close();
+                if (classLoader != null) {
+                    classLoader.close();
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        public Optional<String> toBinaryName(String qualifiedName) {
+            for (int i = qualifiedName.lastIndexOf('.'); i > 0; i = qualifiedName.lastIndexOf('.', i - 1)) {
+                String packageName = qualifiedName.substring(0, i);
+                if (modulesByPackage.containsKey(packageName)) {
+                    String binaryName = packageName + "." + qualifiedName.substring(i + 1).replace('.', '$');
+                    if (contains(binaryName)) {
+                        return Optional.of(binaryName);
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+
+        private boolean contains(String binaryName) {
+            int i = binaryName.lastIndexOf('.');
+            if (i == -1) {
+                return false;
+            }
+            String packageName = binaryName.substring(0, i);
+            String module = modulesByPackage.get(packageName);
+            if (module == null) {
+                return false;
+            }
+            return classesByPackage.computeIfAbsent(packageName, (p) -> listClasses(module, p))
+                    .contains(binaryName.substring(i + 1));
+        }
+
+        private Set<String> listClasses(String module, String packageName) {
+            Set<String> classes = new HashSet<>();
+            Path packageDir = fileSystem.getPath("/modules", module, packageName.replace('.', '/'));
+            try (DirectoryStream<Path> classFiles = Files.newDirectoryStream(packageDir, "*.class")) {
+                for (Path classFile : classFiles) {
+                    String fileName = classFile.getFileName().toString();
+                    classes.add(fileName.substring(0, fileName.length() - ".class".length()));
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return classes;
+        }
+
+        private Path path(String binaryName) {
+            int i = binaryName.lastIndexOf('.');
+            String module = i == -1 ? null : modulesByPackage.get(binaryName.substring(0, i));
+            if (module == null) {
+                return null;
+            }
+            return fileSystem.getPath("/modules", module, binaryName.replace('.', '/') + ".class");
+        }
+
+        @Override
+        public InputStream openClassfile(String binaryName) throws NotFoundException {
+            if (!contains(binaryName)) {
+                return null;
+            }
+            try {
+                return Files.newInputStream(path(binaryName));
+            } catch (IOException e) {
+                throw new NotFoundException(binaryName, e);
+            }
+        }
+
+        @Override
+        public URL find(String binaryName) {
+            if (!contains(binaryName)) {
+                return null;
+            }
+            try {
+                return path(binaryName).toUri().toURL();
+            } catch (MalformedURLException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (ownedFileSystem != null) {
+                    ownedFileSystem.close();
+                }
+                if (ownedClassLoader != null) {
+                    ownedClassLoader.close();
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "jrt:/ of " + javaHome;
+        }
+    }
+
+    /**
+     * Class files stored in a zip file (rt.jar or ct.sym), with an index of the classes it contains.
+     */
+    private static class ZipClassPath implements JdkClassPath {
+        private final File file;
+        private final ZipFile zipFile;
+        // qualified name -> binary name
+        private final Map<String, String> binaryNames = new HashMap<>();
+        // binary name -> entry
+        private final Map<String, String> entries = new HashMap<>();
+
+        private ZipClassPath(File file) throws IOException {
+            this.file = file;
+            this.zipFile = new ZipFile(file);
+        }
+
+        private void add(String classPath, String entryName) {
+            String binaryName = classPath.replace('/', '.');
+            if (entries.putIfAbsent(binaryName, entryName) == null) {
+                binaryNames.putIfAbsent(binaryName.replace('$', '.'), binaryName);
+            }
+        }
+
+        static ZipClassPath openJar(File jar) throws IOException {
+            ZipClassPath classPath = new ZipClassPath(jar);
+            for (Enumeration<? extends ZipEntry> e = classPath.zipFile.entries(); e.hasMoreElements(); ) {
+                ZipEntry entry = e.nextElement();
+                String name = entry.getName();
+                if (!entry.isDirectory() && name.endsWith(".class")) {
+                    classPath.add(name.substring(0, name.length() - ".class".length()), name);
+                }
+            }
+            return classPath;
+        }
+
+        /**
+         * Entries of ct.sym are named "releases/module/package/Class.sig", where releases lists the releases
+         * sharing the entry, one character each (8, 9, A for 10...).
+         */
+        static ZipClassPath openCtSym(File ctSym, int release) throws IOException {
+            String releaseCode = Character.toString(Character.toUpperCase(Character.forDigit(release, Character.MAX_RADIX)));
+            ZipClassPath classPath = new ZipClassPath(ctSym);
+            for (Enumeration<? extends ZipEntry> e = classPath.zipFile.entries(); e.hasMoreElements(); ) {
+                ZipEntry entry = e.nextElement();
+                String name = entry.getName();
+                int releasesEnd = name.indexOf('/');
+                if (entry.isDirectory() || !name.endsWith(".sig") || releasesEnd == -1
+                        || !name.substring(0, releasesEnd).contains(releaseCode)) {
+                    continue;
+                }
+                int moduleEnd = name.indexOf('/', releasesEnd + 1);
+                String path = name.substring(releasesEnd + 1, name.length() - ".sig".length());
+                // module names contain dots, package names do not
+                if (moduleEnd != -1 && name.substring(releasesEnd + 1, moduleEnd).contains(".")) {
+                    path = name.substring(moduleEnd + 1, name.length() - ".sig".length());
+                }
+                if (!path.endsWith("module-info")) {
+                    classPath.add(path, name);
+                }
+            }
+            if (classPath.entries.isEmpty()) {
+                classPath.close();
+                throw new IllegalArgumentException("Release " + release + " not found in " + ctSym);
+            }
+            return classPath;
+        }
+
+        @Override
+        public Optional<String> toBinaryName(String qualifiedName) {
+            return Optional.ofNullable(binaryNames.get(qualifiedName));
+        }
+
+        private ZipEntry entry(String binaryName) {
+            String entry = entries.get(binaryName);
+            return entry == null ? null : zipFile.getEntry(entry);
+        }
+
+        @Override
+        public InputStream openClassfile(String binaryName) throws NotFoundException {
+            ZipEntry entry = entry(binaryName);
+            if (entry == null) {
+                return null;
+            }
+            try {
+                return zipFile.getInputStream(entry);
+            } catch (IOException e) {
+                throw new NotFoundException(binaryName, e);
+            }
+        }
+
+        @Override
+        public URL find(String binaryName) {
+            ZipEntry entry = entry(binaryName);
+            if (entry == null) {
+                return null;
+            }
+            try {
+                return new URL("jar:" + file.toURI() + "!/" + entry.getName());
+            } catch (MalformedURLException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                zipFile.close();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return file.toString();
+        }
+    }
+}
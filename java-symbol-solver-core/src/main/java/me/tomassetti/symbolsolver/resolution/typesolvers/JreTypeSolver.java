@@ -9,6 +9,21 @@ import me.tomassetti.symbolsolver.reflectionmodel.ReflectionInterfaceDeclaration
 public class JreTypeSolver implements TypeSolver {
 
     private TypeSolver parent;
+    private TypeDeclarationCache declarationCache = new TypeDeclarationCache();
+
+    public JreTypeSolver() {
+        this(true);
+    }
+
+    /**
+     * @param pinHotTypes keep the declarations of {@link TypeDeclarationCache#HOT_JDK_TYPES} for the whole life
+     *                    of the type solver, instead of letting them be discarded with the other ones.
+     */
+    public JreTypeSolver(boolean pinHotTypes) {
+        if (pinHotTypes) {
+            declarationCache.pin(TypeDeclarationCache.HOT_JDK_TYPES);
+        }
+    }
 
     @Override
     public TypeSolver getParent() {
@@ -18,10 +33,20 @@ public class JreTypeSolver implements TypeSolver {
     @Override
     public void setParent(TypeSolver parent) {
         this.parent = parent;
+        // declarations refer to the root type solver, which may have changed
+        declarationCache.clear();
+    }
+
+    public TypeDeclarationCache getDeclarationCache() {
+        return declarationCache;
     }
 
     @Override
     public SymbolReference<TypeDeclaration> tryToSolveType(String name) {
+        return declarationCache.get(name, this::tryToSolveTypeUncached);
+    }
+
+    private SymbolReference<TypeDeclaration> tryToSolveTypeUncached(String name) {
         if (name.startsWith("java.") || name.startsWith("javax.")) {
             try {
                 Class<?> clazz = JreTypeSolver.class.getClassLoader().loadClass(name);
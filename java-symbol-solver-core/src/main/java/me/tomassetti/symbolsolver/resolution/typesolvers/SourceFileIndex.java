@@ -0,0 +1,197 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseException;
+import com.github.javaparser.TokenMgrError;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Index of all the types declared in a source directory, nested types included.
+ * Each qualified name is associated to the file declaring it and to the path of the declaration inside
+ * the compilation unit (e.g., "Outer.Inner"). Files which cannot be parsed are skipped, and recorded as such.
+ */
+class SourceFileIndex {
+
+    private static final String HEADER = "# java-symbol-solver source index v1";
+
+    private File srcDir;
+    private Map<String, Entry> entries = new HashMap<>();
+    private List<File> unparsableFiles = new ArrayList<>();
+
+    private SourceFileIndex(File srcDir) {
+        this.srcDir = srcDir;
+    }
+
+    /**
+     * Parse all the source files under srcDir and record the types they declare.
+     */
+    static SourceFileIndex build(File srcDir) {
+        SourceFileIndex index = new SourceFileIndex(srcDir);
+        index.addDirectory(srcDir);
+        return index;
+    }
+
+    /**
+     * Read an index previously written by {@link #save(File)}. Paths are resolved against srcDir.
+     */
+    static SourceFileIndex load(File srcDir, File indexFile) throws IOException {
+        List<String> lines = Files.readAllLines(indexFile.toPath(), StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(HEADER)) {
+            throw new IOException("Not a source index: " + indexFile);
+        }
+        SourceFileIndex index = new SourceFileIndex(srcDir);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] parts = line.split("\t");
+            if (parts.length != 3) {
+                throw new IOException("Malformed line in source index " + indexFile + ": " + line);
+            }
+            index.entries.put(parts[0], new Entry(new File(srcDir, parts[2]), parts[1]));
+        }
+        return index;
+    }
+
+    void save(File indexFile) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        String base = srcDir.getAbsolutePath() + File.separator;
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            String relativePath = e.getValue().file.getAbsolutePath().substring(base.length());
+            lines.add(e.getKey() + "\t" + e.getValue().pathInCompilationUnit + "\t" + relativePath);
+        }
+        Files.write(indexFile.toPath(), lines, StandardCharsets.UTF_8);
+    }
+
+    Optional<Entry> lookup(String qualifiedName) {
+        return Optional.ofNullable(entries.get(qualifiedName));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * The files skipped when the index was built, because they could not be parsed. They are not saved.
+     */
+    List<File> getUnparsableFiles() {
+        return unparsableFiles;
+    }
+
+    private void addDirectory(File dir) {
+        File[] children = dir.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (File child : children) {
+            if (child.isDirectory()) {
+                addDirectory(child);
+            } else if (child.getName().endsWith(".java")) {
+                addFile(child);
+            }
+        }
+    }
+
+    private void addFile(File file) {
+        CompilationUnit cu;
+        try {
+            cu = JavaParser.parse(file);
+        } catch (ParseException | TokenMgrError e) {
+            unparsableFiles.add(file);
+            return;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        visitTypes(cu, (qualifiedName, pathInCompilationUnit, type) ->
+                entries.put(qualifiedName, new Entry(file, pathInCompilationUnit)));
+    }
+
+    /**
+     * Receives the types declared in a compilation unit.
+     */
+    interface TypeVisitor {
+        void visit(String qualifiedName, String pathInCompilationUnit, TypeDeclaration type);
+    }
+
+    /**
+     * Visit the classes, interfaces and enums declared in the given compilation unit, nested types included. Each
+     * type is visited before the types it contains.
+     */
+    static void visitTypes(CompilationUnit cu, TypeVisitor visitor) {
+        if (cu.getTypes() == null) {
+            return;
+        }
+        String prefix = cu.getPackage() == null ? "" : cu.getPackage().getName().toString() + ".";
+        for (TypeDeclaration type : cu.getTypes()) {
+            visitType(prefix, "", type, visitor);
+        }
+    }
+
+    private static void visitType(String packagePrefix, String containerPath, TypeDeclaration type, TypeVisitor visitor) {
+        if (!(type instanceof ClassOrInterfaceDeclaration) && !(type instanceof EnumDeclaration)) {
+            return;
+        }
+        String pathInCompilationUnit = containerPath + type.getName();
+        visitor.visit(packagePrefix + pathInCompilationUnit, pathInCompilationUnit, type);
+        if (type.getMembers() != null) {
+            for (BodyDeclaration member : type.getMembers()) {
+                if (member instanceof TypeDeclaration) {
+                    visitType(packagePrefix, pathInCompilationUnit + ".", (TypeDeclaration) member, visitor);
+                }
+            }
+        }
+    }
+
+    static class Entry {
+        private File file;
+        private String pathInCompilationUnit;
+
+        Entry(File file, String pathInCompilationUnit) {
+            this.file = file;
+            this.pathInCompilationUnit = pathInCompilationUnit;
+        }
+
+        File getFile() {
+            return file;
+        }
+
+        /**
+         * Find the declaration in the given compilation unit, which should be the one parsed from the file.
+         */
+        Optional<TypeDeclaration> findIn(CompilationUnit cu) {
+            if (cu.getTypes() == null) {
+                return Optional.empty();
+            }
+            String[] names = pathInCompilationUnit.split("\\.");
+            List<? extends BodyDeclaration> candidates = cu.getTypes();
+            TypeDeclaration found = null;
+            for (String name : names) {
+                found = null;
+                if (candidates != null) {
+                    for (BodyDeclaration candidate : candidates) {
+                        if (candidate instanceof TypeDeclaration && ((TypeDeclaration) candidate).getName().equals(name)) {
+                            found = (TypeDeclaration) candidate;
+                        }
+                    }
+                }
+                if (found == null) {
+                    return Optional.empty();
+                }
+                candidates = found.getMembers();
+            }
+            return Optional.of(found);
+        }
+    }
+}
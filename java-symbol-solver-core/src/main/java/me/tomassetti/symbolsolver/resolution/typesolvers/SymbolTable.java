@@ -0,0 +1,407 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseException;
+import com.github.javaparser.TokenMgrError;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Symbol table of a source directory, stored on disk: for every type declared, nested types included, the file
+ * declaring it, its kind, its supertypes and the signatures of its members. Every file is recorded with its length,
+ * last modification time and checksum, so that the files changed since the table was written can be detected.
+ *
+ * The table is memory-mapped and types are found through binary searches over the buffer, as in {@link JarIndex}.
+ *
+ * Layout: magic, version, number of files, number of types, one offset per file, one offset per type (types are
+ * sorted by qualified name as UTF-8 byte strings), records. A file record is the relative path, length, last
+ * modification time, checksum and whether the file could be parsed. A type record is the qualified name, the index of the file, the path in the
+ * compilation unit, the kind and three lists of strings: supertypes, fields and methods. Strings are stored as
+ * length and UTF-8 bytes, lists as size and strings.
+ */
+class SymbolTable {
+
+    private static final int MAGIC = 0x4A535354;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 4;
+
+    private ByteBuffer buffer;
+    private int filesCount;
+    private int typesCount;
+
+    private SymbolTable(ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a symbol table");
+        }
+        this.buffer = buffer;
+        this.filesCount = buffer.getInt(8);
+        this.typesCount = buffer.getInt(12);
+    }
+
+    /**
+     * A source file, together with the state it had when its types were recorded.
+     */
+    static class FileSummary {
+        private final String relativePath;
+        private final long length;
+        private final long lastModified;
+        private final long checksum;
+        private final boolean parsable;
+        private final List<TypeSummary> types;
+
+        FileSummary(String relativePath, long length, long lastModified, long checksum, boolean parsable, List<TypeSummary> types) {
+            this.relativePath = relativePath;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.checksum = checksum;
+            this.parsable = parsable;
+            this.types = types;
+        }
+
+        String getRelativePath() {
+            return relativePath;
+        }
+
+        List<TypeSummary> getTypes() {
+            return types;
+        }
+
+        /**
+         * Could the file be parsed? A file with syntax errors declares no types.
+         */
+        boolean isParsable() {
+            return parsable;
+        }
+
+        /**
+         * Is the file unchanged? The content is read only when length or modification time differ.
+         */
+        boolean isUpToDate(File file) throws IOException {
+            if (!file.isFile()) {
+                return false;
+            }
+            if (file.length() == length && file.lastModified() == lastModified) {
+                return true;
+            }
+            return file.length() == length && checksum(Files.readAllBytes(file.toPath())) == checksum;
+        }
+    }
+
+    static SymbolTable map(File tableFile) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(tableFile, "r")) {
+            return new SymbolTable(file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length()));
+        }
+    }
+
+    /**
+     * Store the given files in tableFile, replacing its content.
+     */
+    static void write(File tableFile, List<FileSummary> files) throws IOException {
+        List<TypeSummary> types = new ArrayList<>();
+        List<Integer> typeFileIndexes = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            for (TypeSummary type : files.get(i).types) {
+                types.add(type);
+                typeFileIndexes.add(i);
+            }
+        }
+        byte[][] names = new byte[types.size()][];
+        Integer[] order = new Integer[types.size()];
+        for (int i = 0; i < order.length; i++) {
+            names[i] = utf8(types.get(i).getQualifiedName());
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> compare(names[a], names[b]));
+
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(records);
+        int recordsStart = HEADER_SIZE + 4 * files.size() + 4 * types.size();
+        int[] fileOffsets = new int[files.size()];
+        for (int i = 0; i < files.size(); i++) {
+            FileSummary file = files.get(i);
+            fileOffsets[i] = recordsStart + out.size();
+            writeString(out, file.relativePath);
+            out.writeLong(file.length);
+            out.writeLong(file.lastModified);
+            out.writeLong(file.checksum);
+            out.writeBoolean(file.parsable);
+        }
+        int[] typeOffsets = new int[types.size()];
+        for (int i = 0; i < order.length; i++) {
+            TypeSummary type = types.get(order[i]);
+            typeOffsets[i] = recordsStart + out.size();
+            writeString(out, type.getQualifiedName());
+            out.writeInt(typeFileIndexes.get(order[i]));
+            writeString(out, type.getPathInCompilationUnit());
+            out.writeByte(type.getKind().ordinal());
+            writeStrings(out, type.getSupertypes());
+            writeStrings(out, type.getFields());
+            writeStrings(out, type.getMethods());
+        }
+        out.flush();
+
+        ByteBuffer content = ByteBuffer.allocate(recordsStart + records.size());
+        content.putInt(MAGIC);
+        content.putInt(VERSION);
+        content.putInt(files.size());
+        content.putInt(types.size());
+        for (int offset : fileOffsets) {
+            content.putInt(offset);
+        }
+        for (int offset : typeOffsets) {
+            content.putInt(offset);
+        }
+        content.put(records.toByteArray());
+
+        File tmpFile = new File(tableFile.getPath() + ".tmp");
+        Files.write(tmpFile.toPath(), content.array());
+        Files.move(tmpFile.toPath(), tableFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Parse the given file and record the types it declares. A file which cannot be parsed is recorded as such,
+     * so that it is not parsed again until it changes.
+     */
+    static FileSummary summarize(File srcDir, File file) throws IOException {
+        byte[] content = Files.readAllBytes(file.toPath());
+        String relativePath = srcDir.toPath().relativize(file.toPath()).toString();
+        CompilationUnit cu;
+        try {
+            cu = JavaParser.parse(new ByteArrayInputStream(content));
+        } catch (ParseException | TokenMgrError e) {
+            return new FileSummary(relativePath, file.length(), file.lastModified(), checksum(content), false, new ArrayList<>());
+        }
+        List<TypeSummary> types = new ArrayList<>();
+        SourceFileIndex.visitTypes(cu, (qualifiedName, pathInCompilationUnit, type) ->
+                types.add(summarize(relativePath, qualifiedName, pathInCompilationUnit, type)));
+        return new FileSummary(relativePath, file.length(), file.lastModified(), checksum(content), true, types);
+    }
+
+    private static TypeSummary summarize(String file, String qualifiedName, String pathInCompilationUnit, TypeDeclaration type) {
+        TypeSummary.Kind kind;
+        List<String> supertypes = new ArrayList<>();
+        if (type instanceof ClassOrInterfaceDeclaration) {
+            ClassOrInterfaceDeclaration classOrInterface = (ClassOrInterfaceDeclaration) type;
+            kind = classOrInterface.isInterface() ? TypeSummary.Kind.INTERFACE : TypeSummary.Kind.CLASS;
+            addTypes(supertypes, classOrInterface.getExtends());
+            addTypes(supertypes, classOrInterface.getImplements());
+        } else {
+            kind = TypeSummary.Kind.ENUM;
+            addTypes(supertypes, ((EnumDeclaration) type).getImplements());
+        }
+        List<String> fields = new ArrayList<>();
+        List<String> methods = new ArrayList<>();
+        if (type.getMembers() != null) {
+            for (BodyDeclaration member : type.getMembers()) {
+                if (member instanceof FieldDeclaration) {
+                    FieldDeclaration field = (FieldDeclaration) member;
+                    for (VariableDeclarator variable : field.getVariables()) {
+                        fields.add(field.getType() + " " + variable.getId().getName());
+                    }
+                } else if (member instanceof MethodDeclaration) {
+                    methods.add(signature((MethodDeclaration) member));
+                }
+            }
+        }
+        return new TypeSummary(qualifiedName, kind, file, pathInCompilationUnit, supertypes, fields, methods);
+    }
+
+    private static void addTypes(List<String> names, List<ClassOrInterfaceType> types) {
+        if (types != null) {
+            for (ClassOrInterfaceType type : types) {
+                names.add(type.toString());
+            }
+        }
+    }
+
+    private static String signature(MethodDeclaration method) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(method.getType()).append(" ").append(method.getName()).append("(");
+        if (method.getParameters() != null) {
+            boolean first = true;
+            for (Parameter parameter : method.getParameters()) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                first = false;
+                sb.append(parameter.getType());
+                if (parameter.isVarArgs()) {
+                    sb.append("...");
+                }
+            }
+        }
+        return sb.append(")").toString();
+    }
+
+    static long checksum(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return crc.getValue();
+    }
+
+    int getFilesCount() {
+        return filesCount;
+    }
+
+    int getTypesCount() {
+        return typesCount;
+    }
+
+    /**
+     * The file with the given index, with the types it declares.
+     */
+    FileSummary getFile(int index) {
+        int offset = buffer.getInt(HEADER_SIZE + 4 * index);
+        String relativePath = readString(offset);
+        offset += 4 + buffer.getInt(offset);
+        return new FileSummary(relativePath, buffer.getLong(offset), buffer.getLong(offset + 8), buffer.getLong(offset + 16),
+                buffer.get(offset + 24) != 0, new ArrayList<>());
+    }
+
+    /**
+     * All the files, each one with the types it declares.
+     */
+    List<FileSummary> getFiles() {
+        List<FileSummary> files = new ArrayList<>(filesCount);
+        for (int i = 0; i < filesCount; i++) {
+            files.add(getFile(i));
+        }
+        for (int i = 0; i < typesCount; i++) {
+            int typeOffset = typeOffset(i);
+            TypeSummary type = readType(typeOffset, files);
+            files.get(fileIndex(typeOffset)).types.add(type);
+        }
+        return files;
+    }
+
+    Optional<TypeSummary> lookup(String qualifiedName) {
+        byte[] name = utf8(qualifiedName);
+        int low = 0;
+        int high = typesCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int typeOffset = typeOffset(middle);
+            int comparison = compareAt(typeOffset, name);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return Optional.of(readType(typeOffset, null));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private int typeOffset(int index) {
+        return buffer.getInt(HEADER_SIZE + 4 * filesCount + 4 * index);
+    }
+
+    private int fileIndex(int typeOffset) {
+        return buffer.getInt(typeOffset + 4 + buffer.getInt(typeOffset));
+    }
+
+    /**
+     * Read the type record at the given offset. The path of its file is taken from files, if already read.
+     */
+    private TypeSummary readType(int offset, List<FileSummary> files) {
+        String qualifiedName = readString(offset);
+        offset += 4 + buffer.getInt(offset);
+        int fileIndex = buffer.getInt(offset);
+        offset += 4;
+        String file = files == null ? getFile(fileIndex).relativePath : files.get(fileIndex).relativePath;
+        String pathInCompilationUnit = readString(offset);
+        offset += 4 + buffer.getInt(offset);
+        TypeSummary.Kind kind = TypeSummary.Kind.values()[buffer.get(offset)];
+        offset += 1;
+        List<List<String>> lists = new ArrayList<>(3);
+        for (int i = 0; i < 3; i++) {
+            int size = buffer.getInt(offset);
+            offset += 4;
+            List<String> strings = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                strings.add(readString(offset));
+                offset += 4 + buffer.getInt(offset);
+            }
+            lists.add(strings);
+        }
+        return new TypeSummary(qualifiedName, kind, file, pathInCompilationUnit, lists.get(0), lists.get(1), lists.get(2));
+    }
+
+    private String readString(int offset) {
+        byte[] bytes = new byte[buffer.getInt(offset)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(offset + 4 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = utf8(string);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> strings) throws IOException {
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            writeString(out, string);
+        }
+    }
+
+    private static byte[] utf8(String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int compare(byte[] a, byte[] b) {
+        int n = Math.min(a.length, b.length);
+        for (int i = 0; i < n; i++) {
+            int diff = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    /**
+     * Compare the qualified name of the type record at the given offset with the given name, without copying it.
+     */
+    private int compareAt(int recordOffset, byte[] name) {
+        int length = buffer.getInt(recordOffset);
+        int start = recordOffset + 4;
+        int n = Math.min(length, name.length);
+        for (int i = 0; i < n; i++) {
+            int diff = (buffer.get(start + i) & 0xFF) - (name[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - name.length;
+    }
+}
@@ -0,0 +1,225 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import me.tomassetti.symbolsolver.javaparsermodel.DependencyTracker;
+import me.tomassetti.symbolsolver.model.declarations.ClassDeclaration;
+import me.tomassetti.symbolsolver.model.declarations.EnumDeclaration;
+import me.tomassetti.symbolsolver.model.declarations.FieldDeclaration;
+import me.tomassetti.symbolsolver.model.declarations.InterfaceDeclaration;
+import me.tomassetti.symbolsolver.model.declarations.MethodDeclaration;
+import me.tomassetti.symbolsolver.model.declarations.TypeDeclaration;
+import me.tomassetti.symbolsolver.model.declarations.ValueDeclaration;
+import me.tomassetti.symbolsolver.model.invokations.MethodUsage;
+import me.tomassetti.symbolsolver.model.resolution.Context;
+import me.tomassetti.symbolsolver.model.resolution.SymbolReference;
+import me.tomassetti.symbolsolver.model.resolution.TypeParameter;
+import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
+import me.tomassetti.symbolsolver.model.typesystem.ReferenceTypeUsage;
+import me.tomassetti.symbolsolver.model.typesystem.TypeUsage;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A type found in the table of a {@link SymbolTableTypeSolver}. Name and kind are read from the table: the file
+ * declaring the type is parsed only when something else is asked, and the question is then answered by the
+ * declaration built on the AST.
+ *
+ * Declarations of the same type are equal, but they are not equal to the declarations built on the AST: once the
+ * file is parsed the solver returns the latter.
+ */
+abstract class SymbolTableTypeDeclaration implements TypeDeclaration {
+
+    private final SymbolTableTypeSolver typeSolver;
+    private final TypeSummary summary;
+
+    private SymbolTableTypeDeclaration(SymbolTableTypeSolver typeSolver, TypeSummary summary) {
+        this.typeSolver = typeSolver;
+        this.summary = summary;
+    }
+
+    static SymbolTableTypeDeclaration of(SymbolTableTypeSolver typeSolver, TypeSummary summary) {
+        switch (summary.getKind()) {
+            case CLASS:
+                return new ClassType(typeSolver, summary);
+            case INTERFACE:
+                return new InterfaceType(typeSolver, summary);
+            case ENUM:
+                return new EnumType(typeSolver, summary);
+            default:
+                throw new UnsupportedOperationException(summary.getKind().name());
+        }
+    }
+
+    /**
+     * The declaration built on the AST, parsing the file if it is not parsed yet. As its answers depend on the
+     * AST, the use is recorded (see {@link DependencyTracker}).
+     */
+    TypeDeclaration parsed() {
+        TypeDeclaration declaration = typeSolver.parseDeclaration(summary);
+        DependencyTracker.recordUse(declaration);
+        return declaration;
+    }
+
+    @Override
+    public String getName() {
+        String path = summary.getPathInCompilationUnit();
+        return path.substring(path.lastIndexOf('.') + 1);
+    }
+
+    @Override
+    public String getQualifiedName() {
+        return summary.getQualifiedName();
+    }
+
+    @Deprecated
+    @Override
+    public Context getContext() {
+        return parsed().getContext();
+    }
+
+    @Override
+    public SymbolReference<MethodDeclaration> solveMethod(String name, List<TypeUsage> parameterTypes) {
+        return parsed().solveMethod(name, parameterTypes);
+    }
+
+    @Deprecated
+    @Override
+    public Optional<MethodUsage> solveMethodAsUsage(String name, List<TypeUsage> parameterTypes, TypeSolver typeSolver, Context invokationContext, List<TypeUsage> typeParameterValues) {
+        return parsed().solveMethodAsUsage(name, parameterTypes, typeSolver, invokationContext, typeParameterValues);
+    }
+
+    @Override
+    public boolean isAssignableBy(TypeUsage typeUsage) {
+        return parsed().isAssignableBy(typeUsage);
+    }
+
+    @Override
+    public boolean isAssignableBy(TypeDeclaration other) {
+        return parsed().isAssignableBy(other);
+    }
+
+    @Override
+    public FieldDeclaration getField(String name) {
+        return parsed().getField(name);
+    }
+
+    @Override
+    public boolean hasField(String name) {
+        return parsed().hasField(name);
+    }
+
+    @Override
+    public SymbolReference<? extends ValueDeclaration> solveSymbol(String substring, TypeSolver typeSolver) {
+        return parsed().solveSymbol(substring, typeSolver);
+    }
+
+    @Override
+    public SymbolReference<TypeDeclaration> solveType(String substring, TypeSolver typeSolver) {
+        return parsed().solveType(substring, typeSolver);
+    }
+
+    @Override
+    public List<ReferenceTypeUsage> getAllAncestors() {
+        return parsed().getAllAncestors();
+    }
+
+    @Override
+    public boolean isSubtypeOf(String qualifiedName) {
+        return qualifiedName.equals(getQualifiedName()) || parsed().isSubtypeOf(qualifiedName);
+    }
+
+    @Override
+    public Set<MethodDeclaration> getDeclaredMethods() {
+        return parsed().getDeclaredMethods();
+    }
+
+    @Override
+    public Set<MethodUsage> getAllMethods() {
+        return parsed().getAllMethods();
+    }
+
+    @Override
+    public List<TypeParameter> getTypeParameters() {
+        return parsed().getTypeParameters();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        SymbolTableTypeDeclaration that = (SymbolTableTypeDeclaration) o;
+
+        if (typeSolver != that.typeSolver) return false;
+        return getQualifiedName().equals(that.getQualifiedName());
+    }
+
+    @Override
+    public int hashCode() {
+        return getQualifiedName().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "SymbolTableTypeDeclaration{" +
+                "qualifiedName=" + getQualifiedName() +
+                '}';
+    }
+
+    private static class ClassType extends SymbolTableTypeDeclaration implements ClassDeclaration {
+
+        private ClassType(SymbolTableTypeSolver typeSolver, TypeSummary summary) {
+            super(typeSolver, summary);
+        }
+
+        @Override
+        public ClassDeclaration asClass() {
+            return this;
+        }
+
+        @Override
+        public ReferenceTypeUsage getSuperClass() {
+            return parsed().asClass().getSuperClass();
+        }
+
+        @Override
+        public List<InterfaceDeclaration> getInterfaces() {
+            return parsed().asClass().getInterfaces();
+        }
+
+        @Override
+        public List<ReferenceTypeUsage> getAllSuperClasses() {
+            return parsed().asClass().getAllSuperClasses();
+        }
+
+        @Override
+        public List<InterfaceDeclaration> getAllInterfaces() {
+            return parsed().asClass().getAllInterfaces();
+        }
+    }
+
+    private static class InterfaceType extends SymbolTableTypeDeclaration implements InterfaceDeclaration {
+
+        private InterfaceType(SymbolTableTypeSolver typeSolver, TypeSummary summary) {
+            super(typeSolver, summary);
+        }
+
+        @Override
+        public InterfaceDeclaration asInterface() {
+            return this;
+        }
+
+        @Override
+        public List<InterfaceDeclaration> getInterfacesExtended() {
+            return parsed().asInterface().getInterfacesExtended();
+        }
+    }
+
+    private static class EnumType extends SymbolTableTypeDeclaration implements EnumDeclaration {
+
+        private EnumType(SymbolTableTypeSolver typeSolver, TypeSummary summary) {
+            super(typeSolver, summary);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFacade;
+import me.tomassetti.symbolsolver.javaparsermodel.UnsolvedSymbolException;
+import me.tomassetti.symbolsolver.model.declarations.TypeDeclaration;
+import me.tomassetti.symbolsolver.model.resolution.SymbolReference;
+import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Solve the types declared in a source directory through a symbol table stored on disk, which is memory-mapped
+ * on later runs.
+ *
+ * When the solver is created only the files changed, added or removed since the table was written are parsed:
+ * the other ones are parsed lazily. The declarations solved answer name and kind from the table, and parse their
+ * file only when asked anything else; once a file is parsed its types are solved as the declarations built on its
+ * AST. Questions about the structure of the types (supertypes, members) can be answered through
+ * {@link #getSummary(String)} without parsing at all. Call {@link #save()} to store the changes found, so that the
+ * next run does not parse those files again.
+ *
+ * Files with syntax errors are recorded as unparsable (see {@link #getUnparsableFiles()}): they declare no types.
+ */
+public class SymbolTableTypeSolver implements TypeSolver {
+
+    /**
+     * Default maximum number of parsed compilation units kept in memory.
+     */
+    public static final long DEFAULT_CACHE_SIZE = 1000;
+
+    private File srcDir;
+    private File tableFile;
+    private TypeSolver parent;
+    private Cache<File, CompilationUnit> parsedFiles;
+    private volatile State state;
+
+    /**
+     * The table as stored on disk, together with the changes found since it was written.
+     */
+    private static class State {
+        private final SymbolTable table;
+        // files changed or removed, whose types in the table are obsolete
+        private final Set<String> obsoleteFiles;
+        // types of the files changed or added
+        private final Map<String, TypeSummary> changedTypes;
+        private final List<SymbolTable.FileSummary> changedFiles;
+
+        State(SymbolTable table, Set<String> obsoleteFiles, List<SymbolTable.FileSummary> changedFiles) {
+            this.table = table;
+            this.obsoleteFiles = obsoleteFiles;
+            this.changedFiles = changedFiles;
+            this.changedTypes = new HashMap<>();
+            for (SymbolTable.FileSummary file : changedFiles) {
+                for (TypeSummary type : file.getTypes()) {
+                    changedTypes.put(type.getQualifiedName(), type);
+                }
+            }
+        }
+    }
+
+    public SymbolTableTypeSolver(File srcDir, File tableFile) throws IOException {
+        this(srcDir, tableFile, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param tableFile file storing the symbol table. If it does not exist, or it is not a valid symbol table, all
+     *                  the source files are parsed.
+     * @param cacheSize maximum number of parsed compilation units to keep
+     */
+    public SymbolTableTypeSolver(File srcDir, File tableFile, long cacheSize) throws IOException {
+        this.srcDir = srcDir;
+        this.tableFile = tableFile;
+        this.parsedFiles = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+        SymbolTable table = null;
+        if (tableFile.exists()) {
+            try {
+                table = SymbolTable.map(tableFile);
+            } catch (IOException e) {
+                // corrupted or obsolete table: all the files are parsed
+            }
+        }
+        this.state = refresh(table);
+    }
+
+    private State refresh(SymbolTable table) throws IOException {
+        Set<String> knownFiles = new HashSet<>();
+        Set<String> obsoleteFiles = new HashSet<>();
+        List<SymbolTable.FileSummary> changedFiles = new ArrayList<>();
+        if (table != null) {
+            for (int i = 0; i < table.getFilesCount(); i++) {
+                SymbolTable.FileSummary recorded = table.getFile(i);
+                File file = new File(srcDir, recorded.getRelativePath());
+                knownFiles.add(recorded.getRelativePath());
+                if (!recorded.isUpToDate(file)) {
+                    obsoleteFiles.add(recorded.getRelativePath());
+                    if (file.isFile()) {
+                        changedFiles.add(SymbolTable.summarize(srcDir, file));
+                    }
+                }
+            }
+        }
+        addNewFiles(srcDir, knownFiles, changedFiles);
+        return new State(table, obsoleteFiles, changedFiles);
+    }
+
+    private void addNewFiles(File dir, Set<String> knownFiles, List<SymbolTable.FileSummary> changedFiles) throws IOException {
+        File[] children = dir.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (File child : children) {
+            if (child.isDirectory()) {
+                addNewFiles(child, knownFiles, changedFiles);
+            } else if (child.getName().endsWith(".java")
+                    && !knownFiles.contains(srcDir.toPath().relativize(child.toPath()).toString())) {
+                changedFiles.add(SymbolTable.summarize(srcDir, child));
+            }
+        }
+    }
+
+    /**
+     * Store the symbol table, changes included, and memory-map it.
+     */
+    public synchronized void save() throws IOException {
+        State current = state;
+        List<SymbolTable.FileSummary> files = new ArrayList<>();
+        if (current.table != null) {
+            for (SymbolTable.FileSummary file : current.table.getFiles()) {
+                if (!current.obsoleteFiles.contains(file.getRelativePath())) {
+                    files.add(file);
+                }
+            }
+        }
+        files.addAll(current.changedFiles);
+        SymbolTable.write(tableFile, files);
+        this.state = new State(SymbolTable.map(tableFile), Collections.emptySet(), Collections.emptyList());
+    }
+
+    /**
+     * Number of files parsed when the solver was created, or at the last {@link #save()}, because they were
+     * changed or added.
+     */
+    public int getChangedFilesCount() {
+        return state.changedFiles.size();
+    }
+
+    /**
+     * What is known about the type with the given qualified name, without parsing its file.
+     */
+    public Optional<TypeSummary> getSummary(String qualifiedName) {
+        State current = state;
+        TypeSummary changed = current.changedTypes.get(qualifiedName);
+        if (changed != null) {
+            return Optional.of(changed);
+        }
+        if (current.table == null) {
+            return Optional.empty();
+        }
+        Optional<TypeSummary> recorded = current.table.lookup(qualifiedName);
+        if (recorded.isPresent() && current.obsoleteFiles.contains(recorded.get().getFile())) {
+            return Optional.empty();
+        }
+        return recorded;
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Relative paths of the files which could not be parsed: their types are not known.
+     */
+    public List<String> getUnparsableFiles() {
+        State current = state;
+        List<String> unparsable = new ArrayList<>();
+        if (current.table != null) {
+            for (int i = 0; i < current.table.getFilesCount(); i++) {
+                SymbolTable.FileSummary file = current.table.getFile(i);
+                if (!file.isParsable() && !current.obsoleteFiles.contains(file.getRelativePath())) {
+                    unparsable.add(file.getRelativePath());
+                }
+            }
+        }
+        for (SymbolTable.FileSummary file : current.changedFiles) {
+            if (!file.isParsable()) {
+                unparsable.add(file.getRelativePath());
+            }
+        }
+        return unparsable;
+    }
+
+    /**
+     * Number of compilation units currently parsed and kept in memory.
+     */
+    public long getParsedFilesCount() {
+        return parsedFiles.size();
+    }
+
+    @Override
+    public SymbolReference<TypeDeclaration> tryToSolveType(String name) {
+        Optional<TypeSummary> summary = getSummary(name);
+        if (!summary.isPresent()) {
+            return SymbolReference.unsolved(TypeDeclaration.class);
+        }
+        CompilationUnit compilationUnit = parsedFiles.getIfPresent(new File(srcDir, summary.get().getFile()));
+        if (compilationUnit != null) {
+            // one declaration per AST node, as soon as there is an AST
+            Optional<TypeDeclaration> parsed = findDeclaration(summary.get(), compilationUnit);
+            return parsed.isPresent() ? SymbolReference.solved(parsed.get()) : SymbolReference.unsolved(TypeDeclaration.class);
+        }
+        return SymbolReference.solved(SymbolTableTypeDeclaration.of(this, summary.get()));
+    }
+
+    /**
+     * The declaration of the given type built on the AST of its file, which is parsed if needed.
+     */
+    TypeDeclaration parseDeclaration(TypeSummary summary) {
+        Optional<TypeDeclaration> declaration = findDeclaration(summary, parse(new File(srcDir, summary.getFile())));
+        if (!declaration.isPresent()) {
+            // the file has been changed since the table was read
+            throw new UnsolvedSymbolException(summary.getQualifiedName(), this);
+        }
+        return declaration.get();
+    }
+
+    private Optional<TypeDeclaration> findDeclaration(TypeSummary summary, CompilationUnit compilationUnit) {
+        File file = new File(srcDir, summary.getFile());
+        Optional<com.github.javaparser.ast.body.TypeDeclaration> astTypeDeclaration =
+                new SourceFileIndex.Entry(file, summary.getPathInCompilationUnit()).findIn(compilationUnit);
+        return astTypeDeclaration.map((node) -> JavaParserFacade.get(getRoot()).getTypeDeclaration(node));
+    }
+
+    private CompilationUnit parse(File file) {
+        try {
+            return parsedFiles.get(file, () -> JavaParser.parse(file));
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SymbolTableTypeSolver{" +
+                "srcDir=" + srcDir +
+                ", tableFile=" + tableFile +
+                ", parent=" + parent +
+                '}';
+    }
+}
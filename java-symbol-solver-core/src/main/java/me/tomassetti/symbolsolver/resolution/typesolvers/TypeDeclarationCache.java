@@ -0,0 +1,128 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import me.tomassetti.symbolsolver.model.declarations.TypeDeclaration;
+import me.tomassetti.symbolsolver.model.resolution.SymbolReference;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * Canonical declarations produced by a TypeSolver: one instance per qualified name, so that declarations
+ * are not rebuilt every time the same type is solved.
+ *
+ * The least recently used declarations are discarded when the cache is full, except the pinned ones, which
+ * are kept until the cache is cleared. Only solved references are cached.
+ */
+public class TypeDeclarationCache {
+
+    public static final long DEFAULT_SIZE = 10000;
+
+    /**
+     * Types of the JDK which are used while solving almost anything, e.g., as ancestors of every type.
+     */
+    public static final List<String> HOT_JDK_TYPES = Collections.unmodifiableList(Arrays.asList(
+            "java.lang.Object",
+            "java.lang.String",
+            "java.lang.Integer",
+            "java.lang.Long",
+            "java.lang.Boolean",
+            "java.lang.Character",
+            "java.lang.Double",
+            "java.lang.Float",
+            "java.lang.Class",
+            "java.lang.Enum",
+            "java.lang.Comparable",
+            "java.lang.CharSequence",
+            "java.lang.Iterable",
+            "java.lang.Throwable",
+            "java.lang.Exception",
+            "java.lang.RuntimeException",
+            "java.io.Serializable",
+            "java.util.Collection",
+            "java.util.List",
+            "java.util.Map",
+            "java.util.Set"));
+
+    private Cache<String, TypeDeclaration> declarations;
+    private Cache<String, TypeDeclaration> pinnedDeclarations = CacheBuilder.newBuilder().build();
+    private Set<String> pinnedNames = ConcurrentHashMap.newKeySet();
+
+    public TypeDeclarationCache() {
+        this(DEFAULT_SIZE);
+    }
+
+    public TypeDeclarationCache(long maximumSize) {
+        this.declarations = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    /**
+     * The declarations of the given types, once solved, are never discarded.
+     */
+    public void pin(Iterable<String> qualifiedNames) {
+        for (String qualifiedName : qualifiedNames) {
+            pinnedNames.add(qualifiedName);
+        }
+    }
+
+    /**
+     * Return the declaration of the given type, invoking solver only if it is not cached yet.
+     */
+    public SymbolReference<TypeDeclaration> get(String name, Function<String, SymbolReference<TypeDeclaration>> solver) {
+        Cache<String, TypeDeclaration> cache = pinnedNames.contains(name) ? pinnedDeclarations : declarations;
+        try {
+            return SymbolReference.solved(cache.get(name, () -> {
+                SymbolReference<TypeDeclaration> ref = solver.apply(name);
+                if (!ref.isSolved()) {
+                    throw new NotSolvedException();
+                }
+                return ref.getCorrespondingDeclaration();
+            }));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof NotSolvedException) {
+                return SymbolReference.unsolved(TypeDeclaration.class);
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (UncheckedExecutionException e) {
+            Throwables.propagateIfPossible(e.getCause());
+            throw e;
+        }
+    }
+
+    /**
+     * Discard all the declarations, pinned ones included. The pinned names stay pinned.
+     */
+    public void clear() {
+        declarations.invalidateAll();
+        pinnedDeclarations.invalidateAll();
+    }
+
+    /**
+     * Hits, misses and evictions of the declarations which are not pinned.
+     */
+    public CacheStats getStats() {
+        return declarations.stats();
+    }
+
+    /**
+     * Signals to the cache that nothing has to be stored. It is thrown for every unsolved name, so it does
+     * not fill in the stack trace.
+     */
+    private static class NotSolvedException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        NotSolvedException() {
+            super(null, null, false, false);
+        }
+    }
+
+}
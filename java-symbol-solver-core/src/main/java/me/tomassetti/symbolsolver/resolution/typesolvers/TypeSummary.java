@@ -0,0 +1,86 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What a {@link SymbolTableTypeSolver} knows about a type without parsing the file declaring it. Supertypes and
+ * signatures are recorded as written in the source (e.g., "List<String>"), they are not solved.
+ */
+public class TypeSummary {
+
+    public enum Kind {
+        CLASS, INTERFACE, ENUM
+    }
+
+    private final String qualifiedName;
+    private final Kind kind;
+    private final String file;
+    private final String pathInCompilationUnit;
+    private final List<String> supertypes;
+    private final List<String> fields;
+    private final List<String> methods;
+
+    TypeSummary(String qualifiedName, Kind kind, String file, String pathInCompilationUnit,
+                List<String> supertypes, List<String> fields, List<String> methods) {
+        this.qualifiedName = qualifiedName;
+        this.kind = kind;
+        this.file = file;
+        this.pathInCompilationUnit = pathInCompilationUnit;
+        this.supertypes = Collections.unmodifiableList(supertypes);
+        this.fields = Collections.unmodifiableList(fields);
+        this.methods = Collections.unmodifiableList(methods);
+    }
+
+    public String getQualifiedName() {
+        return qualifiedName;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Path of the file declaring the type, relative to the source directory.
+     */
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * Path of the declaration inside the compilation unit (e.g., "Outer.Inner").
+     */
+    public String getPathInCompilationUnit() {
+        return pathInCompilationUnit;
+    }
+
+    /**
+     * The class extended and the interfaces implemented or extended.
+     */
+    public List<String> getSupertypes() {
+        return supertypes;
+    }
+
+    /**
+     * The fields declared, as "type name".
+     */
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * The methods declared, as "returnType name(paramType, ...)".
+     */
+    public List<String> getMethods() {
+        return methods;
+    }
+
+    @Override
+    public String toString() {
+        return "TypeSummary{" +
+                "qualifiedName='" + qualifiedName + '\'' +
+                ", kind=" + kind +
+                ", file='" + file + '\'' +
+                '}';
+    }
+}
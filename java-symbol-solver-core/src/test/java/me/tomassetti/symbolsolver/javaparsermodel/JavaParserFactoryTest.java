@@ -0,0 +1,52 @@
+package me.tomassetti.symbolsolver.javaparsermodel;
+
+import com.github.javaparser.ParseException;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.stmt.ReturnStmt;
+import me.tomassetti.symbolsolver.javaparser.Navigator;
+import me.tomassetti.symbolsolver.model.resolution.Context;
+import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
+import me.tomassetti.symbolsolver.resolution.AbstractTest;
+import me.tomassetti.symbolsolver.resolution.typesolvers.JreTypeSolver;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class JavaParserFactoryTest extends AbstractTest {
+
+    private ReturnStmt returnStmt(CompilationUnit cu) {
+        ClassOrInterfaceDeclaration clazz = Navigator.demandClass(cu, "Agenda");
+        return Navigator.findReturnStmt(Navigator.demandMethod(clazz, "lambdaMap"));
+    }
+
+    @Test
+    public void contextsAreReused() throws ParseException {
+        CompilationUnit cu = parseSample("Lambda");
+        TypeSolver typeSolver = new JreTypeSolver();
+        Context context = JavaParserFactory.getContext(returnStmt(cu), typeSolver);
+
+        assertSame(context, JavaParserFactory.getContext(returnStmt(cu), typeSolver));
+        assertSame(context.getParent(), context.getParent());
+        Context root = context;
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        assertSame(JavaParserFactory.getContext(cu, typeSolver), root);
+        assertNotSame(context, JavaParserFactory.getContext(returnStmt(cu), new JreTypeSolver()));
+    }
+
+    @Test
+    public void contextsOfACompilationUnitCanBeEvicted() throws ParseException {
+        CompilationUnit cu = parseSample("Lambda");
+        TypeSolver typeSolver = new JreTypeSolver();
+        Context context = JavaParserFactory.getContext(returnStmt(cu), typeSolver);
+
+        JavaParserFacade.get(typeSolver).evict(cu);
+        Context newContext = JavaParserFactory.getContext(returnStmt(cu), typeSolver);
+        assertNotSame(context, newContext);
+        assertEquals(context, newContext);
+    }
+}
@@ -0,0 +1,113 @@
+package me.tomassetti.symbolsolver.javaparsermodel;
+
+import com.github.javaparser.ASTHelper;
+import com.github.javaparser.ast.TypeParameter;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.ModifierSet;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.body.VariableDeclaratorId;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+
+public class JavaParserMemberTablesTest {
+
+    private MethodDeclaration method(String name) {
+        return new MethodDeclaration(ModifierSet.PUBLIC, ASTHelper.VOID_TYPE, name);
+    }
+
+    @Test
+    public void overloadsAreGroupedByName() {
+        ClassOrInterfaceDeclaration clazz = new ClassOrInterfaceDeclaration(ModifierSet.PUBLIC, false, "Foo");
+        MethodDeclaration foo1 = method("foo");
+        MethodDeclaration bar = method("bar");
+        MethodDeclaration foo2 = method("foo");
+        ASTHelper.addMember(clazz, foo1);
+        ASTHelper.addMember(clazz, bar);
+        ASTHelper.addMember(clazz, foo2);
+
+        assertEquals(Arrays.asList(foo1, foo2), JavaParserMemberTables.declaredMethods(clazz, "foo"));
+        assertEquals(Collections.singletonList(bar), JavaParserMemberTables.declaredMethods(clazz, "bar"));
+        assertEquals(Collections.emptyList(), JavaParserMemberTables.declaredMethods(clazz, "baz"));
+    }
+
+    @Test
+    public void addedMethodsAreFound() {
+        ClassOrInterfaceDeclaration clazz = new ClassOrInterfaceDeclaration(ModifierSet.PUBLIC, false, "Foo");
+        assertEquals(Collections.emptyList(), JavaParserMemberTables.declaredMethods(clazz, "foo"));
+
+        MethodDeclaration foo = method("foo");
+        ASTHelper.addMember(clazz, foo);
+        assertEquals(Collections.singletonList(foo), JavaParserMemberTables.declaredMethods(clazz, "foo"));
+    }
+
+    @Test
+    public void replacedMembersAreFound() {
+        ClassOrInterfaceDeclaration clazz = new ClassOrInterfaceDeclaration(ModifierSet.PUBLIC, false, "Foo");
+        ASTHelper.addMember(clazz, method("foo"));
+        ASTHelper.addMember(clazz, method("bar"));
+        assertEquals(1, JavaParserMemberTables.declaredMethods(clazz, "foo").size());
+
+        MethodDeclaration baz = method("baz");
+        clazz.getMembers().set(0, baz);
+        assertEquals(Collections.emptyList(), JavaParserMemberTables.declaredMethods(clazz, "foo"));
+        assertEquals(Collections.singletonList(baz), JavaParserMemberTables.declaredMethods(clazz, "baz"));
+    }
+
+    @Test
+    public void fieldsAreIndexedByName() {
+        ClassOrInterfaceDeclaration clazz = new ClassOrInterfaceDeclaration(ModifierSet.PUBLIC, false, "Foo");
+        VariableDeclarator a = new VariableDeclarator(new VariableDeclaratorId("a"));
+        VariableDeclarator b = new VariableDeclarator(new VariableDeclaratorId("b"));
+        ASTHelper.addMember(clazz, new FieldDeclaration(ModifierSet.PRIVATE, ASTHelper.INT_TYPE, Arrays.asList(a, b)));
+
+        assertEquals(Optional.of(a), JavaParserMemberTables.declaredField(clazz, "a"));
+        assertEquals(Optional.of(b), JavaParserMemberTables.declaredField(clazz, "b"));
+        assertEquals(Optional.empty(), JavaParserMemberTables.declaredField(clazz, "c"));
+    }
+
+    @Test
+    public void nestedTypesAndTypeParametersAreIndexedByName() {
+        ClassOrInterfaceDeclaration clazz = new ClassOrInterfaceDeclaration(ModifierSet.PUBLIC, false, "Foo");
+        TypeParameter t = new TypeParameter("T", null);
+        clazz.setTypeParameters(Collections.singletonList(t));
+        ClassOrInterfaceDeclaration inner = new ClassOrInterfaceDeclaration(ModifierSet.PUBLIC, false, "Inner");
+        ASTHelper.addMember(clazz, inner);
+
+        assertEquals(Optional.of(inner), JavaParserMemberTables.declaredType(clazz, "Inner"));
+        assertEquals(Optional.empty(), JavaParserMemberTables.declaredType(clazz, "T"));
+        assertEquals(Optional.of(t), JavaParserMemberTables.declaredTypeParameter(clazz, "T"));
+        assertEquals(Optional.empty(), JavaParserMemberTables.declaredTypeParameter(clazz, "Inner"));
+    }
+
+    private WeakReference<ClassOrInterfaceDeclaration> classWithTables() {
+        ClassOrInterfaceDeclaration clazz = new ClassOrInterfaceDeclaration(ModifierSet.PUBLIC, false, "Foo");
+        clazz.setTypeParameters(Collections.singletonList(new TypeParameter("T", null)));
+        ASTHelper.addMember(clazz, method("foo"));
+        ASTHelper.addMember(clazz, new FieldDeclaration(ModifierSet.PRIVATE, ASTHelper.INT_TYPE,
+                Collections.singletonList(new VariableDeclarator(new VariableDeclaratorId("a")))));
+        ASTHelper.addMember(clazz, new ClassOrInterfaceDeclaration(ModifierSet.PUBLIC, false, "Inner"));
+        assertEquals(1, JavaParserMemberTables.declaredMethods(clazz, "foo").size());
+        assertEquals(true, JavaParserMemberTables.declaredField(clazz, "a").isPresent());
+        assertEquals(true, JavaParserMemberTables.declaredType(clazz, "Inner").isPresent());
+        assertEquals(true, JavaParserMemberTables.declaredTypeParameter(clazz, "T").isPresent());
+        return new WeakReference<>(clazz);
+    }
+
+    @Test
+    public void tablesDoNotKeepTheirTypeReachable() throws InterruptedException {
+        WeakReference<ClassOrInterfaceDeclaration> clazz = classWithTables();
+        for (int i = 0; i < 50 && clazz.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(null, clazz.get());
+    }
+}
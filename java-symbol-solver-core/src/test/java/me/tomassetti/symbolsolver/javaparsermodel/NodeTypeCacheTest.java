@@ -0,0 +1,37 @@
+package me.tomassetti.symbolsolver.javaparsermodel;
+
+import com.github.javaparser.ast.expr.LambdaExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.NullLiteralExpr;
+import com.github.javaparser.ast.stmt.ExpressionStmt;
+import me.tomassetti.symbolsolver.model.typesystem.PrimitiveTypeUsage;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+
+public class NodeTypeCacheTest {
+
+    private LambdaExpr lambda(MethodCallExpr parent, int beginColumn, int endColumn) {
+        LambdaExpr lambdaExpr = new LambdaExpr(1, beginColumn, 1, endColumn, Collections.emptyList(), new ExpressionStmt(new NullLiteralExpr()), false);
+        lambdaExpr.setParentNode(parent);
+        return lambdaExpr;
+    }
+
+    @Test
+    public void equivalentLambdasAreFound() {
+        NodeTypeCache cache = new NodeTypeCache();
+        MethodCallExpr parent = new MethodCallExpr();
+        cache.put(lambda(parent, 5, 20), PrimitiveTypeUsage.INT);
+        cache.put(lambda(parent, 25, 40), PrimitiveTypeUsage.LONG);
+
+        assertEquals(Optional.of(PrimitiveTypeUsage.INT), cache.find(lambda(parent, 5, 20)));
+        assertEquals(Optional.of(PrimitiveTypeUsage.LONG), cache.find(lambda(parent, 25, 40)));
+        assertEquals(Optional.empty(), cache.find(lambda(parent, 5, 21)));
+        assertEquals(Optional.empty(), cache.find(lambda(new MethodCallExpr(), 5, 20)));
+        assertEquals(null, cache.get(lambda(parent, 5, 20)));
+    }
+
+}
@@ -1,6 +1,8 @@
 package me.tomassetti.symbolsolver.javassistmodel;
 
 import com.google.common.collect.ImmutableSet;
+import me.tomassetti.symbolsolver.model.declarations.MethodDeclaration;
+import me.tomassetti.symbolsolver.model.invokations.MethodUsage;
 import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
 import me.tomassetti.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
 import me.tomassetti.symbolsolver.resolution.typesolvers.JarTypeSolver;
@@ -9,6 +11,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
@@ -64,4 +67,15 @@ public class JavassistClassDeclarationTest {
         JavassistClassDeclaration coid = (JavassistClassDeclaration) typeSolver.solveType("com.github.javaparser.ast.body.ClassOrInterfaceDeclaration");
         assertEquals(ImmutableSet.of("com.github.javaparser.ast.DocumentableNode"), coid.getAllInterfaces().stream().map(i -> i.getQualifiedName()).collect(Collectors.toSet()));
     }
+
+    @Test
+    public void testMethodsOfTheSameDeclarationAreEqual() {
+        JavassistClassDeclaration compilationUnit = (JavassistClassDeclaration) typeSolver.solveType("com.github.javaparser.ast.CompilationUnit");
+        MethodDeclaration first = compilationUnit.solveMethod("getImports", Collections.emptyList()).getCorrespondingDeclaration();
+        MethodDeclaration second = compilationUnit.solveMethod("getImports", Collections.emptyList()).getCorrespondingDeclaration();
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals(new MethodUsage(first, typeSolver), new MethodUsage(second, typeSolver));
+        assertEquals(false, first.equals(compilationUnit.solveMethod("getTypes", Collections.emptyList()).getCorrespondingDeclaration()));
+    }
 }
@@ -1,6 +1,8 @@
 package me.tomassetti.symbolsolver.model.typesystem;
 
 import com.google.common.collect.ImmutableList;
+import me.tomassetti.symbolsolver.model.declarations.MethodDeclaration;
+import me.tomassetti.symbolsolver.model.invokations.MethodUsage;
 import me.tomassetti.symbolsolver.model.resolution.TypeParameter;
 import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
 import me.tomassetti.symbolsolver.reflectionmodel.ReflectionClassDeclaration;
@@ -60,6 +62,37 @@ public class ReferenceTypeUsageTest {
         assertEquals("E", ref1.parameters().get(0).asTypeParameter().getName());
     }
 
+    @Test
+    public void testInternSharesEqualTypes() {
+        ReferenceTypeUsageImpl otherListOfStrings = new ReferenceTypeUsageImpl(
+                new ReflectionInterfaceDeclaration(List.class, typeSolver),
+                ImmutableList.of(new ReferenceTypeUsageImpl(new ReflectionClassDeclaration(String.class, typeSolver), typeSolver)), typeSolver);
+        assertEquals(true, TypeUsageInterner.intern(listOfStrings) == TypeUsageInterner.intern(otherListOfStrings));
+        assertEquals(true, TypeUsageInterner.intern(listOfStrings) != TypeUsageInterner.intern(linkedListOfString));
+    }
+
+    @Test
+    public void testInternDoesNotShareTypesAmongTypeSolvers() {
+        TypeSolver otherTypeSolver = new JreTypeSolver();
+        ReferenceTypeUsageImpl otherString = new ReferenceTypeUsageImpl(new ReflectionClassDeclaration(String.class, otherTypeSolver), otherTypeSolver);
+        assertEquals(true, TypeUsageInterner.intern(string) != TypeUsageInterner.intern(otherString));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testParametersCannotBeModified() {
+        listOfStrings.parameters().add(string);
+    }
+
+    @Test
+    public void testMethodUsagesOfTheSameMethodAreEqual() {
+        MethodDeclaration isEmpty = string.getTypeDeclaration().solveMethod("isEmpty", Collections.emptyList()).getCorrespondingDeclaration();
+        MethodUsage first = new MethodUsage(isEmpty, typeSolver);
+        MethodUsage second = new MethodUsage(isEmpty, typeSolver);
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals(1, new HashSet<>(Arrays.asList(first, second)).size());
+    }
+
     @Test
     public void testIsArray() {
         assertEquals(false, object.isArray());
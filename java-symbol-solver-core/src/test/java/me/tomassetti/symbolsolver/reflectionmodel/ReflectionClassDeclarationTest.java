@@ -6,6 +6,7 @@ import me.tomassetti.symbolsolver.model.declarations.FieldDeclaration;
 import me.tomassetti.symbolsolver.model.declarations.MethodDeclaration;
 import me.tomassetti.symbolsolver.model.declarations.TypeDeclaration;
 import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
+import me.tomassetti.symbolsolver.model.typesystem.ReferenceTypeUsage;
 import me.tomassetti.symbolsolver.resolution.typesolvers.JreTypeSolver;
 import org.junit.Test;
 
@@ -190,6 +191,28 @@ public class ReflectionClassDeclarationTest {
         assertEquals("java.lang.String", string.getQualifiedName());
     }
 
+    @Test
+    public void testIsSubtypeOf() {
+        TypeSolver typeResolver = new JreTypeSolver();
+        ClassDeclaration arraylist = new ReflectionClassDeclaration(ArrayList.class, typeResolver);
+        assertEquals(true, arraylist.isSubtypeOf("java.util.ArrayList"));
+        assertEquals(true, arraylist.isSubtypeOf("java.util.AbstractList"));
+        assertEquals(true, arraylist.isSubtypeOf("java.util.Collection"));
+        assertEquals(true, arraylist.isSubtypeOf("java.lang.Object"));
+        assertEquals(false, arraylist.isSubtypeOf("java.util.Set"));
+        assertEquals(false, arraylist.isSubtypeOf("java.lang.String"));
+    }
+
+    @Test
+    public void testGetAllAncestorsReturnsACopy() {
+        TypeSolver typeResolver = new JreTypeSolver();
+        ClassDeclaration arraylist = new ReflectionClassDeclaration(ArrayList.class, typeResolver);
+        List<ReferenceTypeUsage> ancestors = arraylist.getAllAncestors();
+        int size = ancestors.size();
+        ancestors.clear();
+        assertEquals(size, arraylist.getAllAncestors().size());
+    }
+
     // solveMethod
     // isAssignableBy
     // canBeAssignedTo
@@ -237,4 +237,29 @@ public class AnalyseJavaParserTest {
         parse("com/github/javaparser/ASTHelper");
     }
 
+    private String solveDirectory(File dir, int parallelism) throws IOException, ParseException {
+        SourceFileInfoExtractor sourceFileInfoExtractor = getSourceFileInfoExtractor();
+        sourceFileInfoExtractor.setPrintFileName(true);
+        OutputStream outErrStream = new ByteArrayOutputStream();
+        PrintStream outErr = new PrintStream(outErrStream);
+        sourceFileInfoExtractor.setOut(outErr);
+        sourceFileInfoExtractor.setErr(outErr);
+        if (parallelism == 1) {
+            sourceFileInfoExtractor.solve(dir);
+        } else {
+            sourceFileInfoExtractor.solveInParallel(dir, parallelism);
+        }
+        assertEquals(0, sourceFileInfoExtractor.getKo());
+        assertEquals(0, sourceFileInfoExtractor.getUnsupported());
+        return outErrStream.toString() + "OK " + sourceFileInfoExtractor.getOk();
+    }
+
+    @Test
+    public void parallelOutputIsTheSameAsSequentialOutput() throws IOException, ParseException {
+        File dir = new File(src.getAbsolutePath() + "/com/github/javaparser/ast/stmt");
+        String sequential = solveDirectory(dir, 1);
+        assertEquals(sequential, solveDirectory(dir, 4));
+        assertEquals(sequential, solveDirectory(dir, 2));
+    }
+
 }
@@ -1,15 +1,44 @@
 package me.tomassetti.symbolsolver.resolution;
 
+import com.github.javaparser.JavaParser;
 import com.github.javaparser.ParseException;
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.StringLiteralExpr;
+import com.github.javaparser.ast.stmt.ReturnStmt;
+import me.tomassetti.symbolsolver.model.resolution.SymbolReference;
 import me.tomassetti.symbolsolver.model.typesystem.ReferenceTypeUsage;
+import me.tomassetti.symbolsolver.model.typesystem.ReferenceTypeUsageImpl;
+import me.tomassetti.symbolsolver.model.typesystem.TypeUsage;
 import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFacade;
+import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFactory;
+import me.tomassetti.symbolsolver.javaparsermodel.TypeTable;
 import me.tomassetti.symbolsolver.javaparser.Navigator;
 import me.tomassetti.symbolsolver.model.declarations.TypeDeclaration;
+import me.tomassetti.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import me.tomassetti.symbolsolver.resolution.typesolvers.DummyTypeSolver;
 import me.tomassetti.symbolsolver.resolution.typesolvers.JreTypeSolver;
 import org.junit.Test;
 
+import com.google.common.cache.CacheStats;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.Assert.*;
 
 
@@ -23,4 +52,214 @@ public class JavaParserFacadeTest extends AbstractTest {
         ReferenceTypeUsage superclass = typeDeclaration.asClass().getSuperClass();
         assertEquals(Object.class.getCanonicalName(), superclass.getQualifiedName());
     }
+
+    @Test
+    public void declarationsAreCreatedOncePerNode() throws ParseException {
+        CompilationUnit cu = parseSample("Generics");
+        ClassOrInterfaceDeclaration clazz = Navigator.demandClass(cu, "Generics");
+        JreTypeSolver typeSolver = new JreTypeSolver();
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(typeSolver);
+        TypeDeclaration typeDeclaration = javaParserFacade.getTypeDeclaration(clazz);
+        assertEquals(true, typeDeclaration.isSubtypeOf(Object.class.getCanonicalName()));
+
+        // the same instance, with the ancestors it memoized, is found through the contexts
+        assertEquals(true, typeDeclaration == javaParserFacade.getTypeDeclaration(clazz));
+        assertEquals(true, typeDeclaration == javaParserFacade.getTypeOfThisIn(clazz).asReferenceTypeUsage().getTypeDeclaration());
+        assertEquals(true, typeDeclaration == JavaParserFactory.getContext(cu, typeSolver).solveType("Generics", typeSolver).getCorrespondingDeclaration());
+    }
+
+    @Test
+    public void stringLiteralsAreTypedThroughTheTypeSolver() {
+        TypeDeclaration string = new JreTypeSolver().solveType("java.lang.String");
+        DummyTypeSolver dummyTypeSolver = new DummyTypeSolver();
+        dummyTypeSolver.addDeclaration("java.lang.String", string);
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(dummyTypeSolver);
+        TypeUsage type = javaParserFacade.getType(new StringLiteralExpr("foo"));
+        assertEquals(true, string == type.asReferenceTypeUsage().getTypeDeclaration());
+    }
+
+    @Test
+    public void facadeCanBeSharedBetweenThreads() throws Exception {
+        JreTypeSolver typeSolver = new JreTypeSolver();
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tasks.add(() -> {
+                CompilationUnit cu = parseSample("Lambda");
+                ClassOrInterfaceDeclaration clazz = Navigator.demandClass(cu, "Agenda");
+                MethodDeclaration method = Navigator.demandMethod(clazz, "lambdaMap");
+                ReturnStmt returnStmt = Navigator.findReturnStmt(method);
+                return JavaParserFacade.get(typeSolver).getType(returnStmt.getExpr()).describe();
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (Future<String> result : executor.invokeAll(tasks)) {
+                assertEquals("java.util.stream.Stream<java.lang.String>", result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void typesOfACompilationUnitCanBeEvicted() throws ParseException {
+        CompilationUnit cu = parseSample("Lambda");
+        ClassOrInterfaceDeclaration clazz = Navigator.demandClass(cu, "Agenda");
+        ReturnStmt returnStmt = Navigator.findReturnStmt(Navigator.demandMethod(clazz, "lambdaMap"));
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(new JreTypeSolver());
+        javaParserFacade.getType(returnStmt.getExpr());
+        assertTrue(javaParserFacade.getCachedTypesCount() > 0);
+
+        javaParserFacade.evict(parseSample("Lambda"));
+        assertTrue(javaParserFacade.getCachedTypesCount() > 0);
+        javaParserFacade.evict(cu);
+        assertEquals(0, javaParserFacade.getCachedTypesCount());
+    }
+
+    @Test
+    public void cachedTypesAreLimitedByCompilationUnit() throws ParseException {
+        CompilationUnit cu = parseSample("Lambda");
+        ClassOrInterfaceDeclaration clazz = Navigator.demandClass(cu, "Agenda");
+        ReturnStmt returnStmt = Navigator.findReturnStmt(Navigator.demandMethod(clazz, "lambdaMap"));
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(new JreTypeSolver());
+        javaParserFacade.setCacheSize(1);
+        assertEquals("java.util.stream.Stream<java.lang.String>", javaParserFacade.getType(returnStmt.getExpr()).describe());
+        assertTrue(javaParserFacade.getCachedTypesCount() > 0);
+
+        CompilationUnit other = parseSample("Generics");
+        javaParserFacade.getTypes(other);
+        long otherTypesCount = javaParserFacade.getCachedTypesCount();
+        javaParserFacade.evict(other);
+        assertEquals(0, javaParserFacade.getCachedTypesCount());
+        assertTrue(otherTypesCount > 0);
+    }
+
+    private MethodCallExpr callToOverloaded(String method) throws ParseException {
+        CompilationUnit cu = parseSample("OverloadedMethods");
+        ClassOrInterfaceDeclaration clazz = Navigator.demandClass(cu, "OverloadedMethods");
+        return Navigator.findMethodCall(Navigator.demandMethod(clazz, method), "overloaded");
+    }
+
+    @Test
+    public void repeatedCallShapesAreResolvedOnce() throws ParseException {
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(new JreTypeSolver());
+        assertEquals("java.lang.String", javaParserFacade.solve(callToOverloaded("m2")).getCorrespondingDeclaration().getParam(0).getType().describe());
+        assertEquals("java.lang.Object", javaParserFacade.solve(callToOverloaded("m3")).getCorrespondingDeclaration().getParam(0).getType().describe());
+        assertEquals("java.lang.String", javaParserFacade.solve(callToOverloaded("m2")).getCorrespondingDeclaration().getParam(0).getType().describe());
+
+        CacheStats stats = javaParserFacade.getMethodResolutionCache().getDeclarationStats();
+        assertEquals(2, stats.missCount());
+        assertEquals(1, stats.hitCount());
+    }
+
+    @Test
+    public void invalidatingACompilationUnitEvictsOnlyTheMethodResolutionsInvolvingIt() throws ParseException {
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(new JreTypeSolver());
+        CompilationUnit cu = parseSample("OverloadedMethods");
+        javaParserFacade.solve(Navigator.findMethodCall(Navigator.demandMethod(Navigator.demandClass(cu, "OverloadedMethods"), "m2"), "overloaded"));
+        javaParserFacade.invalidate(parseSample("DependencyB"));
+        javaParserFacade.solve(callToOverloaded("m2"));
+        assertEquals(1, javaParserFacade.getMethodResolutionCache().getDeclarationStats().hitCount());
+
+        javaParserFacade.invalidate(cu);
+        javaParserFacade.solve(callToOverloaded("m2"));
+        assertEquals(1, javaParserFacade.getMethodResolutionCache().getDeclarationStats().hitCount());
+    }
+
+    @Test
+    public void failedResolutionsAreNotCached() {
+        JreTypeSolver typeSolver = new JreTypeSolver();
+        ReferenceTypeUsage string = new ReferenceTypeUsageImpl(typeSolver.solveType("java.lang.String"), typeSolver);
+        MethodResolutionCache cache = new MethodResolutionCache();
+        int[] solved = new int[1];
+        for (int i = 0; i < 2; i++) {
+            cache.getDeclaration(string, "foo", Collections.emptyList(), () -> {
+                solved[0]++;
+                return SymbolReference.unsolved(me.tomassetti.symbolsolver.model.declarations.MethodDeclaration.class);
+            });
+        }
+        assertEquals(2, solved[0]);
+    }
+
+    @Test
+    public void invalidatingACompilationUnitEvictsItsDependents() throws ParseException {
+        CompilationUnit dependency = parseSample("DependencyB");
+        CompilationUnit dependent = parseSample("DependentA");
+        CompilationUnit unrelated = parseSample("Lambda");
+        DummyTypeSolver dummyTypeSolver = new DummyTypeSolver();
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver();
+        typeSolver.add(new JreTypeSolver());
+        typeSolver.add(dummyTypeSolver);
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(typeSolver);
+        dummyTypeSolver.addDeclaration("foo.DependencyB", javaParserFacade.getTypeDeclaration(Navigator.demandClass(dependency, "DependencyB")));
+
+        NameExpr b = Navigator.findNameExpression(Navigator.demandMethod(Navigator.demandClass(dependent, "DependentA"), "foo"), "b");
+        assertEquals("foo.DependencyB", javaParserFacade.getType(b).describe());
+        ReturnStmt returnStmt = Navigator.findReturnStmt(Navigator.demandMethod(Navigator.demandClass(unrelated, "Agenda"), "lambdaMap"));
+        javaParserFacade.getType(returnStmt.getExpr());
+
+        Set<CompilationUnit> invalidated = javaParserFacade.invalidate(dependency);
+        assertEquals(1, invalidated.size());
+        assertEquals(true, invalidated.contains(dependent));
+        assertTrue(javaParserFacade.getCachedTypesCount() > 0);
+        javaParserFacade.evict(unrelated);
+        assertEquals(0, javaParserFacade.getCachedTypesCount());
+    }
+
+    @Test
+    public void allTheExpressionsOfACompilationUnitAreTypedInOneWalk() throws ParseException {
+        CompilationUnit cu = parseSample("Lambda");
+        ReturnStmt returnStmt = Navigator.findReturnStmt(Navigator.demandMethod(Navigator.demandClass(cu, "Agenda"), "lambdaMap"));
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(new JreTypeSolver());
+
+        TypeTable types = javaParserFacade.getTypes(cu);
+        assertEquals(true, types.contains(returnStmt.getExpr()));
+        assertEquals(null, types.getFailure(returnStmt.getExpr()));
+        assertEquals("java.util.stream.Stream<java.lang.String>", types.getType(returnStmt.getExpr()).describe());
+        for (int i = 0; i < types.size(); i++) {
+            for (Node child : types.getNode(i).getChildrenNodes()) {
+                if (types.contains(child)) {
+                    assertTrue(indexOf(types, child) < i);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void namesOfTypesUsedAsScopesAreNotTyped() throws ParseException {
+        CompilationUnit cu = parseSample("Generics_issue7");
+        MethodCallExpr asList = Navigator.findMethodCall(cu, "asList");
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(new JreTypeSolver());
+
+        TypeTable types = javaParserFacade.getTypes(cu);
+        assertEquals(null, types.getFailure(asList));
+        assertEquals("java.util.List<java.lang.Long>", types.getType(asList).describe());
+        assertEquals(false, types.contains(asList.getScope()));
+    }
+
+    @Test
+    public void qualifiedNamesOfTypesUsedAsScopesAreNotTyped() throws ParseException {
+        CompilationUnit cu = JavaParser.parse(new ByteArrayInputStream(("class A { int f(java.util.List<String> l) {"
+                + " return java.util.Collections.emptyList().size() + l.size(); } }").getBytes(StandardCharsets.UTF_8)));
+        MethodCallExpr emptyList = Navigator.findMethodCall(cu, "emptyList");
+        FieldAccessExpr collections = (FieldAccessExpr) emptyList.getScope();
+        MethodCallExpr size = (MethodCallExpr) ((BinaryExpr) Navigator.findReturnStmt(Navigator.demandMethod(
+                Navigator.demandClass(cu, "A"), "f")).getExpr()).getRight();
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(new JreTypeSolver());
+
+        TypeTable types = javaParserFacade.getTypes(cu);
+        assertEquals(false, types.contains(collections));
+        assertEquals(false, types.contains(collections.getScope()));
+        assertEquals("java.util.List<java.lang.String>", types.getType(size.getScope()).describe());
+        assertEquals(true, indexOf(types, size.getScope()) < indexOf(types, size));
+    }
+
+    private int indexOf(TypeTable types, Node node) {
+        for (int i = 0; i < types.size(); i++) {
+            if (types.getNode(i) == node) {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
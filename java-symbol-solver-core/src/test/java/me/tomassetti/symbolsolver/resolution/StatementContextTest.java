@@ -5,6 +5,7 @@ import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.stmt.ExpressionStmt;
 import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFacade;
 import me.tomassetti.symbolsolver.javaparser.Navigator;
 import me.tomassetti.symbolsolver.model.declarations.ValueDeclaration;
@@ -90,4 +91,25 @@ public class StatementContextTest extends AbstractTest {
         assertEquals("add", methodUsage.getName());
     }
 
+    private NameExpr scopeOfCallInStatement(MethodDeclaration method, int position) {
+        ExpressionStmt stmt = (ExpressionStmt) method.getBody().getStmts().get(position);
+        return (NameExpr) ((MethodCallExpr) stmt.getExpression()).getScope();
+    }
+
+    @Test
+    public void resolveLocalVariableDeclaredBeforeTheStatement() throws ParseException {
+        CompilationUnit cu = parseSample("LocalVariablesInBlock");
+        com.github.javaparser.ast.body.ClassOrInterfaceDeclaration clazz = Navigator.demandClass(cu, "LocalVariablesInBlock");
+        MethodDeclaration method = Navigator.demandMethod(clazz, "foo");
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(new JreTypeSolver());
+
+        SymbolReference<? extends ValueDeclaration> beforeDeclaration = javaParserFacade.solve(scopeOfCallInStatement(method, 0));
+        assertTrue(beforeDeclaration.isSolved());
+        assertEquals("java.lang.Object", beforeDeclaration.getCorrespondingDeclaration().getType().describe());
+
+        SymbolReference<? extends ValueDeclaration> afterDeclaration = javaParserFacade.solve(scopeOfCallInStatement(method, 3));
+        assertTrue(afterDeclaration.isSolved());
+        assertEquals("java.lang.String", afterDeclaration.getCorrespondingDeclaration().getType().describe());
+    }
+
 }
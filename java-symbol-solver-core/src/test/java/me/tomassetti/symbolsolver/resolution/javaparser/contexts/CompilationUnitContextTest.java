@@ -170,6 +170,36 @@ public class CompilationUnitContextTest extends AbstractTest {
         assertEquals("org.junit.Assert", ref.getCorrespondingDeclaration().getQualifiedName());
     }
 
+    @Test
+    public void solveTypeImportedIsRemembered() throws ParseException, IOException {
+        CompilationUnit cu = parseSample("CompilationUnitWithImports");
+        TypeSolver jarTypeSolver = new JarTypeSolver("src/test/resources/junit-4.8.1.jar");
+        Context context = new CompilationUnitContext(cu, jarTypeSolver);
+
+        SymbolReference<TypeDeclaration> first = context.solveType("Assert", jarTypeSolver);
+        SymbolReference<TypeDeclaration> second = context.solveType("Assert", jarTypeSolver);
+        assertEquals(true, first.isSolved());
+        assertEquals(true, first == second);
+    }
+
+    @Test
+    public void solveTypeSingleImportShadowsImportOnDemand() throws ParseException {
+        CompilationUnit cu = parseSample("CompilationUnitWithShadowingImports");
+        Context context = new CompilationUnitContext(cu, typeSolver);
+
+        TypeDeclaration onDemand = EasyMock.createMock(TypeDeclaration.class);
+        TypeDeclaration single = EasyMock.createMock(TypeDeclaration.class);
+        EasyMock.expect(single.getQualifiedName()).andReturn("com.baz.Shared");
+        DummyTypeSolver dummyTypeSolver = new DummyTypeSolver();
+        dummyTypeSolver.addDeclaration("com.bar.Shared", onDemand);
+        dummyTypeSolver.addDeclaration("com.baz.Shared", single);
+        EasyMock.replay(onDemand, single);
+
+        SymbolReference<TypeDeclaration> ref = context.solveType("Shared", dummyTypeSolver);
+        assertEquals(true, ref.isSolved());
+        assertEquals("com.baz.Shared", ref.getCorrespondingDeclaration().getQualifiedName());
+    }
+
     @Test
     public void solveTypeNotImported() throws ParseException, IOException {
         CompilationUnit cu = parseSample("CompilationUnitWithImports");
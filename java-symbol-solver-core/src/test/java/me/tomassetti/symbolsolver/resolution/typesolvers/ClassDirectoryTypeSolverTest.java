@@ -0,0 +1,60 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Enumeration;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import static org.junit.Assert.assertEquals;
+
+public class ClassDirectoryTypeSolverTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File explode(String pathToJar) throws IOException {
+        File dir = temporaryFolder.newFolder();
+        try (JarFile jarFile = new JarFile(pathToJar)) {
+            for (Enumeration<JarEntry> e = jarFile.entries(); e.hasMoreElements(); ) {
+                JarEntry entry = e.nextElement();
+                File file = new File(dir, entry.getName());
+                if (entry.isDirectory()) {
+                    file.mkdirs();
+                } else {
+                    file.getParentFile().mkdirs();
+                    try (InputStream is = jarFile.getInputStream(entry)) {
+                        Files.copy(is, file.toPath());
+                    }
+                }
+            }
+        }
+        return dir;
+    }
+
+    @Test
+    public void typesAreSolvedFromTheClassFiles() throws IOException {
+        ClassDirectoryTypeSolver typeSolver = new ClassDirectoryTypeSolver(explode("src/test/resources/junit-4.8.1.jar"));
+        assertEquals(true, typeSolver.tryToSolveType("org.junit.Assert").isSolved());
+        assertEquals(true, typeSolver.tryToSolveType("junit.framework.TestResult.1").isSolved());
+        assertEquals(false, typeSolver.tryToSolveType("org.junit.Foo").isSolved());
+        assertEquals(false, typeSolver.tryToSolveType("Foo").isSolved());
+        assertEquals("org.junit.Assert", typeSolver.solveType("org.junit.Assert").getQualifiedName());
+    }
+
+    @Test
+    public void classFilesAreIndexedOnce() throws IOException {
+        File dir = explode("src/test/resources/junit-4.8.1.jar");
+        ClassDirectoryTypeSolver typeSolver = new ClassDirectoryTypeSolver(dir);
+        int count = typeSolver.getClassFilesCount();
+        new File(dir, "org/junit/Assert.class").delete();
+        assertEquals(count, typeSolver.getClassFilesCount());
+        assertEquals(count - 1, new ClassDirectoryTypeSolver(dir).getClassFilesCount());
+    }
+}
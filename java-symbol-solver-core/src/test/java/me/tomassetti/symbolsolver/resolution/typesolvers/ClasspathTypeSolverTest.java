@@ -0,0 +1,64 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class ClasspathTypeSolverTest {
+
+    private static final String JAVAPARSER_JAR = "src/test/resources/javaparser-core-2.1.0.jar";
+    private static final String JUNIT_JAR = "src/test/resources/junit-4.8.1.jar";
+
+    @Test
+    public void typesAreSolvedFromAllTheJars() throws IOException {
+        ClasspathTypeSolver typeSolver = new ClasspathTypeSolver(Arrays.asList(JAVAPARSER_JAR, JUNIT_JAR));
+        assertEquals(true, typeSolver.tryToSolveType("com.github.javaparser.Token").isSolved());
+        assertEquals(true, typeSolver.tryToSolveType("com.github.javaparser.ASTParser.JJCalls").isSolved());
+        assertEquals(true, typeSolver.tryToSolveType("org.junit.Assert").isSolved());
+        assertEquals(false, typeSolver.tryToSolveType("com.github.javaparser.Foo").isSolved());
+        assertEquals(false, typeSolver.tryToSolveType("Foo").isSolved());
+    }
+
+    @Test
+    public void classesAreDecodedOnce() throws IOException {
+        ClasspathTypeSolver typeSolver = new ClasspathTypeSolver(Arrays.asList(JAVAPARSER_JAR, JUNIT_JAR));
+        assertEquals(true, typeSolver.tryToSolveType("org.junit.Assert").isSolved());
+        // discard the declarations
+        typeSolver.setParent(null);
+        assertEquals(true, typeSolver.tryToSolveType("org.junit.Assert").isSolved());
+        assertEquals(1, typeSolver.getClassesStats().missCount());
+        assertEquals(1, typeSolver.getClassesStats().hitCount());
+    }
+
+    @Test
+    public void evictedClassesAreDecodedAgain() throws IOException {
+        ClasspathTypeSolver typeSolver = new ClasspathTypeSolver(Arrays.asList(JAVAPARSER_JAR, JUNIT_JAR), null, 1);
+        assertEquals("org.junit.Assert", typeSolver.solveType("org.junit.Assert").getQualifiedName());
+        assertEquals("com.github.javaparser.Token", typeSolver.solveType("com.github.javaparser.Token").getQualifiedName());
+        typeSolver.setParent(null);
+        assertEquals("org.junit.Assert", typeSolver.solveType("org.junit.Assert").getQualifiedName());
+        assertEquals(3, typeSolver.getClassesStats().missCount());
+    }
+
+    private List<String> ancestorsOfNameExpr(ClasspathTypeSolver classpathTypeSolver) {
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver();
+        typeSolver.add(new JreTypeSolver());
+        typeSolver.add(classpathTypeSolver);
+        return typeSolver.solveType("com.github.javaparser.ast.expr.NameExpr").getAllAncestors().stream()
+                .map((ancestor) -> ancestor.getQualifiedName())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void evictionShrinksThePool() throws IOException {
+        ClasspathTypeSolver typeSolver = new ClasspathTypeSolver(Arrays.asList(JAVAPARSER_JAR, JUNIT_JAR), null, 1);
+        assertEquals(true, ancestorsOfNameExpr(typeSolver).contains("com.github.javaparser.ast.Node"));
+        assertEquals(0, typeSolver.getClassesCount());
+        typeSolver.close();
+    }
+}
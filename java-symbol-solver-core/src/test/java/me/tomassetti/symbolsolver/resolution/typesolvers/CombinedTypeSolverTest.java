@@ -0,0 +1,62 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import com.github.javaparser.ast.CompilationUnit;
+import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFacade;
+import me.tomassetti.symbolsolver.model.declarations.TypeDeclaration;
+import org.junit.Test;
+
+import static org.easymock.EasyMock.createMock;
+import static org.junit.Assert.assertEquals;
+
+public class CombinedTypeSolverTest {
+
+    @Test
+    public void unsolvedNamesAreNotProbedAgain() {
+        DummyTypeSolver first = new DummyTypeSolver();
+        DummyTypeSolver second = new DummyTypeSolver();
+        second.addDeclaration("foo.Bar", createMock(TypeDeclaration.class));
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver(CombinedTypeSolver.DEFAULT_UNSOLVED_CACHE_SIZE, first, second);
+
+        assertEquals(true, typeSolver.tryToSolveType("foo.Bar").isSolved());
+        assertEquals(0, typeSolver.getShortCircuitedProbes());
+        assertEquals(true, typeSolver.tryToSolveType("foo.Bar").isSolved());
+        assertEquals(1, typeSolver.getShortCircuitedProbes());
+        assertEquals(false, typeSolver.tryToSolveType("foo.Zum").isSolved());
+        assertEquals(false, typeSolver.tryToSolveType("foo.Zum").isSolved());
+        assertEquals(3, typeSolver.getShortCircuitedProbes());
+    }
+
+    @Test
+    public void invalidatedNamesAreProbedAgain() {
+        DummyTypeSolver element = new DummyTypeSolver();
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver(CombinedTypeSolver.DEFAULT_UNSOLVED_CACHE_SIZE, element);
+
+        assertEquals(false, typeSolver.tryToSolveType("foo.Bar").isSolved());
+        element.addDeclaration("foo.Bar", createMock(TypeDeclaration.class));
+        assertEquals(false, typeSolver.tryToSolveType("foo.Bar").isSolved());
+        typeSolver.invalidateCache("foo.Bar");
+        assertEquals(true, typeSolver.tryToSolveType("foo.Bar").isSolved());
+    }
+
+    @Test
+    public void unsolvedNamesAreNotRememberedByDefault() {
+        DummyTypeSolver element = new DummyTypeSolver();
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver(element);
+
+        assertEquals(false, typeSolver.tryToSolveType("foo.Bar").isSolved());
+        element.addDeclaration("foo.Bar", createMock(TypeDeclaration.class));
+        assertEquals(true, typeSolver.tryToSolveType("foo.Bar").isSolved());
+        assertEquals(0, typeSolver.getShortCircuitedProbes());
+    }
+
+    @Test
+    public void invalidatingACompilationUnitForgetsTheUnsolvedNames() {
+        DummyTypeSolver element = new DummyTypeSolver();
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver(CombinedTypeSolver.DEFAULT_UNSOLVED_CACHE_SIZE, element);
+
+        assertEquals(false, typeSolver.tryToSolveType("foo.Bar").isSolved());
+        element.addDeclaration("foo.Bar", createMock(TypeDeclaration.class));
+        JavaParserFacade.get(typeSolver).invalidate(new CompilationUnit());
+        assertEquals(true, typeSolver.tryToSolveType("foo.Bar").isSolved());
+    }
+}
@@ -1,14 +1,27 @@
 package me.tomassetti.symbolsolver.resolution.typesolvers;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static org.junit.Assert.assertEquals;
 
 
 public class JarTypeSolverTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void initial() throws IOException {
         String pathToJar = "src/test/resources/javaparser-core-2.1.0.jar";
@@ -21,4 +34,73 @@ public class JarTypeSolverTest {
         assertEquals(false, jarTypeSolver.tryToSolveType("Foo").isSolved());
     }
 
+    @Test
+    public void jarIsOpenedAgainAfterClosing() throws IOException {
+        JarTypeSolver jarTypeSolver = new JarTypeSolver("src/test/resources/javaparser-core-2.1.0.jar");
+        assertEquals("com.github.javaparser.Token", jarTypeSolver.solveType("com.github.javaparser.Token").getQualifiedName());
+        jarTypeSolver.close();
+        assertEquals(true, jarTypeSolver.solveType("com.github.javaparser.ASTHelper").getDeclaredMethods().size() > 0);
+        jarTypeSolver.close();
+    }
+
+    @Test
+    public void indexIsStoredAndReused() throws IOException {
+        String pathToJar = "src/test/resources/javaparser-core-2.1.0.jar";
+        File indexDir = temporaryFolder.newFolder();
+        new JarTypeSolver(pathToJar, indexDir);
+        File[] indexFiles = indexDir.listFiles();
+        assertEquals(1, indexFiles.length);
+        long lastModified = indexFiles[0].lastModified();
+
+        JarTypeSolver jarTypeSolver = new JarTypeSolver(pathToJar, indexDir);
+        assertEquals(lastModified, indexDir.listFiles()[0].lastModified());
+        assertEquals(true, jarTypeSolver.tryToSolveType("com.github.javaparser.ASTParser.JJCalls").isSolved());
+        assertEquals(false, jarTypeSolver.tryToSolveType("com.github.javaparser.ASTParser.Foo").isSolved());
+        assertEquals(false, jarTypeSolver.tryToSolveType("Foo").isSolved());
+    }
+
+    @Test
+    public void indexIsRebuiltWhenTheJarChanges() throws IOException {
+        File indexDir = temporaryFolder.newFolder();
+        File jar = temporaryFolder.newFile("lib.jar");
+        Files.copy(new File("src/test/resources/javaparser-core-2.1.0.jar").toPath(), jar.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        assertEquals(true, new JarTypeSolver(jar.getPath(), indexDir).tryToSolveType("com.github.javaparser.Token").isSolved());
+
+        Files.copy(new File("src/test/resources/junit-4.8.1.jar").toPath(), jar.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        JarTypeSolver jarTypeSolver = new JarTypeSolver(jar.getPath(), indexDir);
+        assertEquals(false, jarTypeSolver.tryToSolveType("com.github.javaparser.Token").isSolved());
+        assertEquals(true, jarTypeSolver.tryToSolveType("org.junit.Assert").isSolved());
+    }
+
+    private void writeJar(File jar, String firstEntryContent) throws IOException {
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+            // enough entries to make the central directory larger than 64 KB
+            for (int i = 0; i < 2000; i++) {
+                byte[] content = (i == 0 ? firstEntryContent : "class").getBytes(StandardCharsets.UTF_8);
+                ZipEntry entry = new ZipEntry("some/long/package/name/to/fill/the/central/directory/C" + i + ".class");
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(content.length);
+                CRC32 crc = new CRC32();
+                crc.update(content);
+                entry.setCrc(crc.getValue());
+                entry.setTime(0);
+                out.putNextEntry(entry);
+                out.write(content);
+                out.closeEntry();
+            }
+        }
+    }
+
+    @Test
+    public void sameLengthChangesToAnyEntryAreDetected() throws IOException {
+        File jar = temporaryFolder.newFile("lib.jar");
+        writeJar(jar, "AAAA");
+        long length = jar.length();
+        long checksum = JarIndex.checksum(jar);
+        assertEquals(true, length > 64 * 1024);
+
+        writeJar(jar, "BBBB");
+        assertEquals(length, jar.length());
+        assertEquals(false, checksum == JarIndex.checksum(jar));
+    }
 }
@@ -0,0 +1,90 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class JavaParserTypeSolverTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void parsedFilesAreReused() {
+        JavaParserTypeSolver typeSolver = new JavaParserTypeSolver(new File("src/test/resources/javaparser_src/proper_source"));
+        assertEquals(true, typeSolver.tryToSolveType("com.github.javaparser.ast.CompilationUnit").isSolved());
+        assertEquals(true, typeSolver.tryToSolveType("com.github.javaparser.ast.CompilationUnit").isSolved());
+        assertEquals(false, typeSolver.tryToSolveType("com.github.javaparser.ast.Foo").isSolved());
+        assertEquals(1, typeSolver.getCacheStats().missCount());
+        assertEquals(1, typeSolver.getCacheStats().hitCount());
+    }
+
+    @Test
+    public void declarationsAreCanonical() {
+        JavaParserTypeSolver typeSolver = new JavaParserTypeSolver(new File("src/test/resources/javaparser_src/proper_source"));
+        assertEquals(true, typeSolver.solveType("com.github.javaparser.ast.CompilationUnit") == typeSolver.solveType("com.github.javaparser.ast.CompilationUnit"));
+        typeSolver.clearCache();
+        assertEquals(true, typeSolver.solveType("com.github.javaparser.ast.CompilationUnit").isClass());
+    }
+
+    @Test
+    public void leastRecentlyUsedFilesAreEvicted() {
+        JavaParserTypeSolver typeSolver = new JavaParserTypeSolver(new File("src/test/resources/javaparser_src/proper_source"), 1);
+        assertEquals(true, typeSolver.tryToSolveType("com.github.javaparser.ast.CompilationUnit").isSolved());
+        assertEquals(true, typeSolver.tryToSolveType("com.github.javaparser.ast.Node").isSolved());
+        assertEquals(true, typeSolver.tryToSolveType("com.github.javaparser.ast.CompilationUnit").isSolved());
+        assertEquals(3, typeSolver.getCacheStats().missCount());
+        assertEquals(2, typeSolver.getCacheStats().evictionCount());
+    }
+
+    @Test
+    public void indexSolvesNestedTypes() {
+        JavaParserTypeSolver typeSolver = new JavaParserTypeSolver(new File("src/test/resources/javaparser_src/proper_source"));
+        assertEquals(false, typeSolver.tryToSolveType("com.github.javaparser.ast.expr.BinaryExpr.Operator").isSolved());
+        typeSolver.buildIndex();
+        assertEquals(true, typeSolver.tryToSolveType("com.github.javaparser.ast.expr.BinaryExpr.Operator").isSolved());
+        assertEquals("com.github.javaparser.ast.expr.BinaryExpr", typeSolver.solveType("com.github.javaparser.ast.expr.BinaryExpr").getQualifiedName());
+        assertEquals(false, typeSolver.tryToSolveType("com.github.javaparser.ast.expr.Foo").isSolved());
+    }
+
+    @Test
+    public void indexCanBeSavedAndLoaded() throws IOException {
+        File src = new File("src/test/resources/javaparser_src/generated");
+        File indexFile = temporaryFolder.newFile("index.txt");
+        JavaParserTypeSolver original = new JavaParserTypeSolver(src);
+        original.buildIndex();
+        original.saveIndex(indexFile);
+
+        JavaParserTypeSolver typeSolver = new JavaParserTypeSolver(src);
+        typeSolver.loadIndex(indexFile);
+        assertEquals(true, typeSolver.isIndexed());
+        assertEquals(true, typeSolver.tryToSolveType("com.github.javaparser.ASTParser").isSolved());
+        assertEquals(true, typeSolver.tryToSolveType("com.github.javaparser.ASTParser.JJCalls").isSolved());
+        assertEquals(false, typeSolver.tryToSolveType("com.github.javaparser.ASTParser.Foo").isSolved());
+    }
+
+    @Test
+    public void indexSkipsUnparsableAndRemovedFiles() throws IOException {
+        File src = temporaryFolder.newFolder("src");
+        File a = new File(src, "foo/A.java");
+        File broken = new File(src, "foo/Broken.java");
+        a.getParentFile().mkdirs();
+        Files.write(a.toPath(), Arrays.asList("package foo;", "class A {}"), StandardCharsets.UTF_8);
+        Files.write(broken.toPath(), Arrays.asList("package foo;", "class Broken { #"), StandardCharsets.UTF_8);
+        JavaParserTypeSolver typeSolver = new JavaParserTypeSolver(src);
+        typeSolver.buildIndex();
+        assertEquals(Arrays.asList(broken), typeSolver.getUnparsableFiles());
+        assertEquals(false, typeSolver.tryToSolveType("foo.Broken").isSolved());
+
+        assertEquals(true, a.delete());
+        assertEquals(false, typeSolver.tryToSolveType("foo.A").isSolved());
+    }
+}
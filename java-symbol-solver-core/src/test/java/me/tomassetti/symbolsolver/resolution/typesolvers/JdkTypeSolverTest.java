@@ -0,0 +1,60 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import me.tomassetti.symbolsolver.model.typesystem.ReferenceTypeUsage;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystems;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class JdkTypeSolverTest {
+
+    private static final File JAVA_HOME = new File(System.getProperty("java.home"));
+
+    @Test
+    public void typesOfTheRunningJdkAreSolved() throws IOException {
+        JdkTypeSolver typeSolver = new JdkTypeSolver();
+        assertEquals(true, typeSolver.tryToSolveType("java.lang.String").isSolved());
+        assertEquals(true, typeSolver.tryToSolveType("java.util.concurrent.Future").isSolved());
+        assertEquals(true, typeSolver.tryToSolveType("java.util.Map.Entry").isSolved());
+        assertEquals(false, typeSolver.tryToSolveType("java.util.Foo").isSolved());
+        assertEquals(false, typeSolver.tryToSolveType("java.util.Map.Foo").isSolved());
+        assertEquals(false, typeSolver.tryToSolveType("Foo").isSolved());
+    }
+
+    @Test
+    public void ancestorsAreReadFromTheSameJdk() throws IOException {
+        JdkTypeSolver typeSolver = new JdkTypeSolver();
+        assertEquals(true, typeSolver.solveType("java.util.ArrayList").getAllAncestors().stream()
+                .map(ReferenceTypeUsage::getQualifiedName)
+                .collect(Collectors.toList())
+                .contains("java.util.AbstractList"));
+    }
+
+    @Test
+    public void typesOfAnOlderReleaseAreSolvedThroughCtSym() throws IOException {
+        Assume.assumeTrue(new File(JAVA_HOME, "lib/ct.sym").isFile());
+        Assume.assumeTrue(new File(JAVA_HOME, "lib/modules").isFile());
+        JdkTypeSolver typeSolver = new JdkTypeSolver(JAVA_HOME, 8);
+        assertEquals(true, typeSolver.tryToSolveType("java.lang.String").isSolved());
+        assertEquals(true, typeSolver.tryToSolveType("java.util.Map.Entry").isSolved());
+        // added in 9
+        assertEquals(false, typeSolver.tryToSolveType("java.lang.Module").isSolved());
+        assertEquals(true, new JdkTypeSolver(JAVA_HOME).tryToSolveType("java.lang.Module").isSolved());
+    }
+
+    @Test
+    public void closingTheSolverOfTheRunningJdkLeavesItsImageOpen() throws IOException {
+        Assume.assumeTrue(new File(JAVA_HOME, "lib/modules").isFile());
+        JdkTypeSolver typeSolver = new JdkTypeSolver();
+        assertEquals(true, typeSolver.tryToSolveType("java.lang.String").isSolved());
+        typeSolver.close();
+        assertEquals(true, FileSystems.getFileSystem(URI.create("jrt:/")).isOpen());
+        assertEquals(true, new JdkTypeSolver().tryToSolveType("java.util.Map.Entry").isSolved());
+    }
+}
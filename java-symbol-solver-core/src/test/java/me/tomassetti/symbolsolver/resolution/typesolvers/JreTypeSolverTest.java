@@ -0,0 +1,43 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import me.tomassetti.symbolsolver.model.declarations.TypeDeclaration;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class JreTypeSolverTest {
+
+    @Test
+    public void declarationsAreCanonical() {
+        JreTypeSolver typeSolver = new JreTypeSolver();
+        TypeDeclaration first = typeSolver.solveType("java.util.ArrayList");
+        assertSame(first, typeSolver.solveType("java.util.ArrayList"));
+        assertSame(typeSolver.solveType("java.lang.Object"), typeSolver.solveType("java.lang.Object"));
+        assertEquals(false, typeSolver.tryToSolveType("java.util.Foo").isSolved());
+        assertEquals(false, typeSolver.tryToSolveType("foo.Bar").isSolved());
+    }
+
+    @Test
+    public void pinnedDeclarationsAreNotEvicted() {
+        TypeDeclarationCache cache = new TypeDeclarationCache(1);
+        cache.pin(Arrays.asList("java.lang.Object"));
+        JreTypeSolver typeSolver = new JreTypeSolver();
+        TypeDeclaration object = cache.get("java.lang.Object", typeSolver::tryToSolveType).getCorrespondingDeclaration();
+        cache.get("java.util.List", typeSolver::tryToSolveType);
+        cache.get("java.util.Map", typeSolver::tryToSolveType);
+        assertEquals(1, cache.getStats().evictionCount());
+        assertSame(object, cache.get("java.lang.Object", typeSolver::tryToSolveType).getCorrespondingDeclaration());
+    }
+
+    @Test
+    public void declarationsAreDiscardedWhenTheParentChanges() {
+        JreTypeSolver typeSolver = new JreTypeSolver();
+        TypeDeclaration object = typeSolver.solveType("java.lang.Object");
+        new CombinedTypeSolver(typeSolver);
+        assertEquals(false, object == typeSolver.solveType("java.lang.Object"));
+    }
+
+}
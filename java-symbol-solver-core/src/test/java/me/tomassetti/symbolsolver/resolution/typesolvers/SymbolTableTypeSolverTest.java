@@ -0,0 +1,133 @@
+package me.tomassetti.symbolsolver.resolution.typesolvers;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseException;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.stmt.ReturnStmt;
+import me.tomassetti.symbolsolver.javaparser.Navigator;
+import me.tomassetti.symbolsolver.javaparsermodel.JavaParserFacade;
+import me.tomassetti.symbolsolver.javaparsermodel.declarations.JavaParserClassDeclaration;
+import me.tomassetti.symbolsolver.model.declarations.TypeDeclaration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class SymbolTableTypeSolverTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private void write(File file, String... lines) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void unchangedFilesAreNotParsedAgain() throws IOException {
+        File src = temporaryFolder.newFolder("src");
+        File tableFile = new File(temporaryFolder.getRoot(), "symbols.table");
+        write(new File(src, "foo/A.java"), "package foo;", "class A implements Runnable {", "  int count;", "  public void run() {}", "  class Inner {}", "}");
+        write(new File(src, "foo/B.java"), "package foo;", "class B extends A {", "  String name(int i, String... s) { return null; }", "}");
+
+        SymbolTableTypeSolver first = new SymbolTableTypeSolver(src, tableFile);
+        assertEquals(2, first.getChangedFilesCount());
+        first.save();
+
+        SymbolTableTypeSolver second = new SymbolTableTypeSolver(src, tableFile);
+        assertEquals(0, second.getChangedFilesCount());
+        TypeSummary a = second.getSummary("foo.A").get();
+        assertEquals(TypeSummary.Kind.CLASS, a.getKind());
+        assertEquals(Arrays.asList("Runnable"), a.getSupertypes());
+        assertEquals(Arrays.asList("int count"), a.getFields());
+        assertEquals(Arrays.asList("void run()"), a.getMethods());
+        assertEquals(Arrays.asList("String name(int, String...)"), second.getSummary("foo.B").get().getMethods());
+        assertEquals(true, second.tryToSolveType("foo.A.Inner").isSolved());
+        assertEquals("foo.A.Inner", second.tryToSolveType("foo.A.Inner").getCorrespondingDeclaration().getQualifiedName());
+        assertEquals(false, second.tryToSolveType("foo.C").isSolved());
+    }
+
+    @Test
+    public void changedFilesAreParsedAgain() throws IOException {
+        File src = temporaryFolder.newFolder("src");
+        File tableFile = new File(temporaryFolder.getRoot(), "symbols.table");
+        File a = new File(src, "foo/A.java");
+        write(a, "package foo;", "class A {}");
+        write(new File(src, "foo/B.java"), "package foo;", "class B {}");
+        new SymbolTableTypeSolver(src, tableFile).save();
+
+        write(a, "package foo;", "class A2 {", "}");
+        write(new File(src, "foo/C.java"), "package foo;", "class C {}");
+        SymbolTableTypeSolver typeSolver = new SymbolTableTypeSolver(src, tableFile);
+        assertEquals(2, typeSolver.getChangedFilesCount());
+        assertEquals(false, typeSolver.getSummary("foo.A").isPresent());
+        assertEquals(true, typeSolver.getSummary("foo.A2").isPresent());
+        assertEquals(true, typeSolver.getSummary("foo.B").isPresent());
+        assertEquals(true, typeSolver.tryToSolveType("foo.C").isSolved());
+    }
+
+    @Test
+    public void solvedTypesAreParsedOnlyWhenTheirMembersAreNeeded() throws IOException {
+        File src = temporaryFolder.newFolder("src");
+        File tableFile = new File(temporaryFolder.getRoot(), "symbols.table");
+        write(new File(src, "foo/A.java"), "package foo;", "class A {", "  int count;", "}");
+        new SymbolTableTypeSolver(src, tableFile).save();
+
+        SymbolTableTypeSolver typeSolver = new SymbolTableTypeSolver(src, tableFile);
+        TypeDeclaration a = typeSolver.solveType("foo.A");
+        assertEquals("foo.A", a.getQualifiedName());
+        assertEquals("A", a.getName());
+        assertEquals(true, a.isClass());
+        assertEquals(0, typeSolver.getParsedFilesCount());
+
+        assertEquals(true, a.hasField("count"));
+        assertEquals(1, typeSolver.getParsedFilesCount());
+    }
+
+    @Test
+    public void unparsableFilesAreRecorded() throws IOException {
+        File src = temporaryFolder.newFolder("src");
+        File tableFile = new File(temporaryFolder.getRoot(), "symbols.table");
+        write(new File(src, "foo/A.java"), "package foo;", "class A {}");
+        write(new File(src, "foo/Broken.java"), "package foo;", "class Broken {");
+        SymbolTableTypeSolver first = new SymbolTableTypeSolver(src, tableFile);
+        assertEquals(Arrays.asList("foo" + File.separator + "Broken.java"), first.getUnparsableFiles());
+        first.save();
+
+        SymbolTableTypeSolver second = new SymbolTableTypeSolver(src, tableFile);
+        assertEquals(0, second.getChangedFilesCount());
+        assertEquals(Arrays.asList("foo" + File.separator + "Broken.java"), second.getUnparsableFiles());
+        assertEquals(true, second.tryToSolveType("foo.A").isSolved());
+        assertEquals(false, second.tryToSolveType("foo.Broken").isSolved());
+    }
+
+    @Test
+    public void invalidatingAParsedFileEvictsItsDependents() throws IOException, ParseException {
+        File src = temporaryFolder.newFolder("src");
+        File tableFile = new File(temporaryFolder.getRoot(), "symbols.table");
+        write(new File(src, "foo/B.java"), "package foo;", "public class B {", "  public int count;", "}");
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver();
+        typeSolver.add(new JreTypeSolver());
+        SymbolTableTypeSolver symbolTableTypeSolver = new SymbolTableTypeSolver(src, tableFile);
+        typeSolver.add(symbolTableTypeSolver);
+        JavaParserFacade javaParserFacade = JavaParserFacade.get(typeSolver);
+        CompilationUnit dependent = JavaParser.parse(new ByteArrayInputStream(
+                "package bar; import foo.B; class A { int foo(B b) { return b.count; } }".getBytes(StandardCharsets.UTF_8)));
+
+        ReturnStmt returnStmt = Navigator.findReturnStmt(Navigator.demandMethod(Navigator.demandClass(dependent, "A"), "foo"));
+        assertEquals("int", javaParserFacade.getType(returnStmt.getExpr()).describe());
+
+        TypeDeclaration b = symbolTableTypeSolver.solveType("foo.B");
+        assertEquals(true, b instanceof JavaParserClassDeclaration);
+        CompilationUnit dependency = (CompilationUnit) ((JavaParserClassDeclaration) b).getWrappedNode().getParentNode();
+        assertEquals(true, javaParserFacade.invalidate(dependency).contains(dependent));
+    }
+}
@@ -19,7 +19,7 @@ public class ProjectResolver {
         combinedTypeSolver.add(new JavaParserTypeSolver(new File("/home/federico/repos/javaparser/javaparser-core/target/generated-sources/javacc")));
         SourceFileInfoExtractor sourceFileInfoExtractor = new SourceFileInfoExtractor();
         sourceFileInfoExtractor.setTypeSolver(combinedTypeSolver);
-        sourceFileInfoExtractor.solve(src);
+        sourceFileInfoExtractor.solveInParallel(src, Runtime.getRuntime().availableProcessors());
         System.out.println("OK " + sourceFileInfoExtractor.getOk());
         System.out.println("KO " + sourceFileInfoExtractor.getKo());
         System.out.println("UNSUPPORTED " + sourceFileInfoExtractor.getUnsupported());
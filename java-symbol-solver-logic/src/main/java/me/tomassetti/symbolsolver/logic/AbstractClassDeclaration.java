@@ -6,11 +6,15 @@ import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
 import me.tomassetti.symbolsolver.model.typesystem.ReferenceTypeUsage;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public abstract class AbstractClassDeclaration extends AbstractTypeDeclaration implements ClassDeclaration {
 
+    private volatile List<ReferenceTypeUsage> superClasses;
+    private volatile List<InterfaceDeclaration> interfaces;
+
     protected abstract ReferenceTypeUsage object();
 
     @Override
@@ -20,6 +24,15 @@ public abstract class AbstractClassDeclaration extends AbstractTypeDeclaration i
 
     @Override
     public final List<ReferenceTypeUsage> getAllSuperClasses() {
+        List<ReferenceTypeUsage> superClasses = this.superClasses;
+        if (superClasses == null) {
+            superClasses = Collections.unmodifiableList(calculateAllSuperClasses());
+            this.superClasses = superClasses;
+        }
+        return new ArrayList<>(superClasses);
+    }
+
+    private List<ReferenceTypeUsage> calculateAllSuperClasses() {
         // TODO it could specify type parameters: they should appear
         List<ReferenceTypeUsage> superclasses = new ArrayList<>();
         ReferenceTypeUsage superClass = getSuperClass();
@@ -39,6 +52,15 @@ public abstract class AbstractClassDeclaration extends AbstractTypeDeclaration i
 
     @Override
     public final List<InterfaceDeclaration> getAllInterfaces() {
+        List<InterfaceDeclaration> interfaces = this.interfaces;
+        if (interfaces == null) {
+            interfaces = Collections.unmodifiableList(calculateAllInterfaces());
+            this.interfaces = interfaces;
+        }
+        return new ArrayList<>(interfaces);
+    }
+
+    private List<InterfaceDeclaration> calculateAllInterfaces() {
         // TODO it could specify type parameters: they should appear
         List<InterfaceDeclaration> interfaces = new ArrayList<>();
         for (InterfaceDeclaration interfaceDeclaration : getInterfaces()) {
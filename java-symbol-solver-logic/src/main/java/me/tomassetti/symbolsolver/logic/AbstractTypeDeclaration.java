@@ -6,13 +6,49 @@ import me.tomassetti.symbolsolver.model.invokations.MethodUsage;
 import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
 import me.tomassetti.symbolsolver.model.typesystem.ReferenceTypeUsage;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 public abstract class AbstractTypeDeclaration implements TypeDeclaration {
 
+    private volatile List<ReferenceTypeUsage> ancestors;
+    private volatile Set<String> ancestorNames;
+
     protected abstract TypeSolver typeSolver();
 
+    /**
+     * Calculate the ancestors of this type. It is invoked once, the result is then reused.
+     */
+    protected abstract List<ReferenceTypeUsage> calculateAllAncestors();
+
+    @Override
+    public final List<ReferenceTypeUsage> getAllAncestors() {
+        List<ReferenceTypeUsage> ancestors = this.ancestors;
+        if (ancestors == null) {
+            ancestors = Collections.unmodifiableList(new ArrayList<>(calculateAllAncestors()));
+            this.ancestors = ancestors;
+        }
+        return new ArrayList<>(ancestors);
+    }
+
+    @Override
+    public boolean isSubtypeOf(String qualifiedName) {
+        Set<String> ancestorNames = this.ancestorNames;
+        if (ancestorNames == null) {
+            ancestorNames = new HashSet<>();
+            ancestorNames.add(Object.class.getCanonicalName());
+            ancestorNames.add(getQualifiedName());
+            for (ReferenceTypeUsage ancestor : getAllAncestors()) {
+                ancestorNames.add(ancestor.getQualifiedName());
+            }
+            this.ancestorNames = ancestorNames;
+        }
+        return ancestorNames.contains(qualifiedName);
+    }
+
     @Override
     public Set<MethodUsage> getAllMethods() {
         Set<MethodUsage> methods = new HashSet<>();
@@ -0,0 +1,60 @@
+package me.tomassetti.symbolsolver.logic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The methods of a type grouped by name, so that the candidates for a method call are found without scanning
+ * all the members. Each backend builds it from its own representation of methods (reflection Methods,
+ * CtMethods, indexes of AST members) and keeps it with the declaration it describes; a table held in a
+ * weak-keyed map must not reference its key.
+ *
+ * A table is immutable and can be shared between threads.
+ */
+public final class MethodTable<M> {
+
+    private final Map<String, List<M>> methodsByName;
+    private final int size;
+
+    private MethodTable(Map<String, List<M>> methodsByName, int size) {
+        this.methodsByName = methodsByName;
+        this.size = size;
+    }
+
+    /**
+     * Group the given methods by name. The overloads of each name keep the order in which they are given.
+     */
+    public static <M> MethodTable<M> of(Iterable<M> methods, Function<M, String> nameOf) {
+        Map<String, List<M>> methodsByName = new HashMap<>();
+        int size = 0;
+        for (M method : methods) {
+            methodsByName.computeIfAbsent(nameOf.apply(method), (name) -> new ArrayList<>(1)).add(method);
+            size++;
+        }
+        for (Map.Entry<String, List<M>> entry : methodsByName.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return new MethodTable<>(methodsByName, size);
+    }
+
+    /**
+     * The methods with the given name, or an empty list.
+     */
+    public List<M> get(String name) {
+        List<M> methods = methodsByName.get(name);
+        return methods == null ? Collections.emptyList() : methods;
+    }
+
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(methodsByName.keySet());
+    }
+
+    public int size() {
+        return size;
+    }
+}
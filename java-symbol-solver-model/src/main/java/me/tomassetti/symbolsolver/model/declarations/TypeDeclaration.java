@@ -66,6 +66,12 @@ public interface TypeDeclaration extends Declaration, TypeParametrized {
 
     List<ReferenceTypeUsage> getAllAncestors();
 
+    /**
+     * Is this the type with the given qualified name or one of its subtypes? Every type is a subtype of
+     * java.lang.Object.
+     */
+    boolean isSubtypeOf(String qualifiedName);
+
     Set<MethodDeclaration> getDeclaredMethods();
 
     Set<MethodUsage> getAllMethods();
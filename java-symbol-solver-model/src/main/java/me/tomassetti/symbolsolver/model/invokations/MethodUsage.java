@@ -6,28 +6,31 @@ import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
 import me.tomassetti.symbolsolver.model.typesystem.TypeUsage;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * @author Federico Tomassetti
  */
 public class MethodUsage {
-    private MethodDeclaration declaration;
-    private List<TypeUsage> paramTypes = new ArrayList<>();
-    private TypeUsage returnType;
+    private final MethodDeclaration declaration;
+    private final List<TypeUsage> paramTypes;
+    private final TypeUsage returnType;
+    private int hash;
 
     public MethodUsage(MethodDeclaration declaration, TypeSolver typeSolver) {
         this.declaration = declaration;
+        List<TypeUsage> paramTypes = new ArrayList<>(declaration.getNoParams());
         for (int i = 0; i < declaration.getNoParams(); i++) {
             paramTypes.add(declaration.getParam(i).getType());
         }
+        this.paramTypes = Collections.unmodifiableList(paramTypes);
         returnType = declaration.getReturnType();
     }
 
     public MethodUsage(MethodDeclaration declaration, List<TypeUsage> paramTypes, TypeUsage returnType) {
         this.declaration = declaration;
-        this.paramTypes = paramTypes;
+        this.paramTypes = Collections.unmodifiableList(new ArrayList<>(paramTypes));
         this.returnType = returnType;
     }
 
@@ -35,6 +38,33 @@ public class MethodUsage {
         return typeToBeExamined.replaceParam(name, newValue);
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        MethodUsage that = (MethodUsage) o;
+
+        if (hashCode() != that.hashCode()) return false;
+        if (!declaration.equals(that.declaration)) return false;
+        if (!paramTypes.equals(that.paramTypes)) return false;
+        if (returnType != null ? !returnType.equals(that.returnType) : that.returnType != null) return false;
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            result = declaration.hashCode();
+            result = 31 * result + paramTypes.hashCode();
+            result = 31 * result + (returnType != null ? returnType.hashCode() : 0);
+            hash = result;
+        }
+        return result;
+    }
+
     @Override
     public String toString() {
         return "MethodUsage{" +
@@ -67,7 +97,7 @@ public class MethodUsage {
         if (paramTypes.get(i) == replaced) {
             return this;
         }
-        List<TypeUsage> newParams = new LinkedList<>(paramTypes);
+        List<TypeUsage> newParams = new ArrayList<>(paramTypes);
         newParams.set(i, replaced);
         return new MethodUsage(declaration, newParams, returnType);
     }
@@ -3,6 +3,13 @@ package me.tomassetti.symbolsolver.model.resolution;
 import me.tomassetti.symbolsolver.model.declarations.TypeDeclaration;
 
 /**
+ * Solve type names to declarations. Type solvers are organized in a tree, the root being the one used to solve
+ * names referred by the declarations found.
+ *
+ * Thread-safety: the tree should be built (through {@link #setParent(TypeSolver)}) before being shared. After
+ * that, implementations are expected to support concurrent calls to {@link #tryToSolveType(String)} and
+ * {@link #solveType(String)}, as all the type solvers provided with the library do.
+ *
  * @author Federico Tomassetti
  */
 public interface TypeSolver {
@@ -23,6 +23,9 @@ public abstract class ReferenceTypeUsage implements TypeUsage {
     protected TypeDeclaration typeDeclaration;
     protected List<TypeUsage> typeParameters;
     protected TypeSolver typeSolver;
+    private volatile List<ReferenceTypeUsage> ancestors;
+    // Racy single-check: the hash is structural, so threads calculating it concurrently obtain the same value
+    private int hash;
 
     public ReferenceTypeUsage(TypeDeclaration typeDeclaration, TypeSolver typeSolver) {
         this(typeDeclaration, deriveParams(typeDeclaration), typeSolver);
@@ -34,7 +37,7 @@ public abstract class ReferenceTypeUsage implements TypeUsage {
 
     public ReferenceTypeUsage(TypeDeclaration typeDeclaration, List<TypeUsage> typeParameters, TypeSolver typeSolver) {
         this.typeDeclaration = typeDeclaration;
-        this.typeParameters = typeParameters;
+        this.typeParameters = Collections.unmodifiableList(new ArrayList<>(typeParameters));
         if (this.typeDeclaration.isTypeVariable()) {
             throw new IllegalArgumentException();
         }
@@ -56,6 +59,7 @@ public abstract class ReferenceTypeUsage implements TypeUsage {
 
         ReferenceTypeUsage that = (ReferenceTypeUsage) o;
 
+        if (hashCode() != that.hashCode()) return false;
         if (!typeDeclaration.equals(that.typeDeclaration)) return false;
         if (!typeParameters.equals(that.typeParameters)) return false;
 
@@ -64,8 +68,12 @@ public abstract class ReferenceTypeUsage implements TypeUsage {
 
     @Override
     public int hashCode() {
-        int result = typeDeclaration.hashCode();
-        result = 31 * result + typeParameters.hashCode();
+        int result = hash;
+        if (result == 0) {
+            result = typeDeclaration.hashCode();
+            result = 31 * result + typeParameters.hashCode();
+            hash = result;
+        }
         return result;
     }
 
@@ -157,7 +165,7 @@ public abstract class ReferenceTypeUsage implements TypeUsage {
     public TypeUsage replaceParam(int i, TypeUsage replaced) {
         ArrayList<TypeUsage> typeParametersCorrected = new ArrayList<>(typeParameters);
         typeParametersCorrected.set(i, replaced);
-        return create(typeDeclaration, typeParametersCorrected, typeSolver);
+        return TypeUsageInterner.intern(create(typeDeclaration, typeParametersCorrected, typeSolver));
     }
 
     protected abstract ReferenceTypeUsage create(TypeDeclaration typeDeclaration, List<TypeUsage> typeParametersCorrected, TypeSolver typeSolver);
@@ -171,7 +179,7 @@ public abstract class ReferenceTypeUsage implements TypeUsage {
         if (typeParameters.equals(newParams)) {
             return this;
         } else {
-            return create(typeDeclaration, newParams, typeSolver);
+            return TypeUsageInterner.intern(create(typeDeclaration, newParams, typeSolver));
         }
     }
 
@@ -189,10 +197,26 @@ public abstract class ReferenceTypeUsage implements TypeUsage {
      * Foo<Boolean, String>.
      */
     public List<ReferenceTypeUsage> getAllAncestors() {
+        List<ReferenceTypeUsage> ancestors = this.ancestors;
+        if (ancestors == null) {
+            ancestors = Collections.unmodifiableList(calculateAllAncestors());
+            this.ancestors = ancestors;
+        }
+        return new ArrayList<>(ancestors);
+    }
+
+    /**
+     * Is this type, or one of its ancestors, the type with the given qualified name?
+     */
+    public boolean isSubtypeOf(String qualifiedName) {
+        return typeDeclaration.isSubtypeOf(qualifiedName);
+    }
+
+    private List<ReferenceTypeUsage> calculateAllAncestors() {
         List<ReferenceTypeUsage> ancestors = typeDeclaration.getAllAncestors();
 
         TypeDeclaration objectType = typeSolver.solveType(Object.class.getCanonicalName());
-        ReferenceTypeUsage objectRef = create(objectType, typeSolver);
+        ReferenceTypeUsage objectRef = TypeUsageInterner.intern(create(objectType, typeSolver));
 
         ancestors = ancestors.stream().map((a) -> replaceTypeParams(a).asReferenceTypeUsage()).collect(Collectors.toList());
         // TODO replace type parameters
@@ -36,7 +36,10 @@ public class TypeParameterUsage implements TypeUsage {
 
     @Override
     public int hashCode() {
-        return typeParameter.hashCode();
+        int result = typeParameter.getName().hashCode();
+        result = 31 * result + (typeParameter.declaredOnClass() ? 1 : 0);
+        result = 31 * result + (typeParameter.declaredOnMethod() ? 1 : 0);
+        return result;
     }
 
     @Override
@@ -0,0 +1,54 @@
+package me.tomassetti.symbolsolver.model.typesystem;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import me.tomassetti.symbolsolver.model.resolution.TypeSolver;
+
+/**
+ * Shares equal reference types (same declaration and same type parameters), so that the many copies created while
+ * solving are replaced by a single instance and comparing them is usually a reference comparison.
+ *
+ * Types are interned separately for each type solver, as equality does not consider the type solver. The instances
+ * are referenced weakly: the ones not used anymore are garbage collected.
+ */
+public final class TypeUsageInterner {
+
+    private static final LoadingCache<TypeSolver, Interner<ReferenceTypeUsage>> interners = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build(new CacheLoader<TypeSolver, Interner<ReferenceTypeUsage>>() {
+                @Override
+                public Interner<ReferenceTypeUsage> load(TypeSolver typeSolver) {
+                    return Interners.newWeakInterner();
+                }
+            });
+
+    private TypeUsageInterner() {
+        // prevent instantiation
+    }
+
+    /**
+     * The shared instance equal to the given type. Types which are not reference types are returned as they are.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends TypeUsage> T intern(T typeUsage) {
+        if (!(typeUsage instanceof ReferenceTypeUsage)) {
+            return typeUsage;
+        }
+        ReferenceTypeUsage referenceTypeUsage = (ReferenceTypeUsage) typeUsage;
+        if (referenceTypeUsage.typeSolver == null) {
+            return typeUsage;
+        }
+        return (T) interners.getUnchecked(referenceTypeUsage.typeSolver).intern(referenceTypeUsage);
+    }
+
+    /**
+     * Stop sharing the types interned so far for the given type solver. To be called when declarations change: an
+     * interned type memoizes its ancestors, and a new type equal to it would otherwise be replaced by it.
+     */
+    public static void forget(TypeSolver typeSolver) {
+        interners.invalidate(typeSolver);
+    }
+}